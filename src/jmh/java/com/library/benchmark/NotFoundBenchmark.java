@@ -0,0 +1,91 @@
+package com.library.benchmark;
+
+import com.library.entity.Book;
+import com.library.repository.BookRepository;
+import com.library.service.BookService;
+import com.library.service.impl.BookServiceImpl;
+import com.library.snapshot.CatalogSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of a {@code getBookById} miss through the service. {@code capturedStackTrace}
+ * is the previous behaviour, a new exception with a filled-in stack trace per
+ * miss; {@code preallocatedStackless} is the current {@link BookServiceImpl},
+ * which rethrows one shared stackless instance. The
+ * stack depth approximates the servlet, Spring MVC and AOP frames above the
+ * service in a real request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class NotFoundBenchmark {
+
+    @Param({"20", "150"})
+    private int stackDepth;
+
+    private BookService capturingBookService;
+    private BookService bookService;
+
+    @Setup
+    public void setUp() {
+        BookRepository emptyRepository = (BookRepository) Proxy.newProxyInstance(BookRepository.class.getClassLoader(),
+                new Class<?>[]{BookRepository.class}, (proxy, method, args) -> Optional.empty());
+        CatalogSnapshot disabledSnapshot = new CatalogSnapshot(false, null, null, null);
+        capturingBookService = new BookServiceImpl(emptyRepository, null, null, disabledSnapshot) {
+            @Override
+            public Book getBookById(Long id) {
+                return emptyRepository.findById(id).orElseThrow(() -> new CapturingNotFoundException("Book not found"));
+            }
+        };
+        bookService = new BookServiceImpl(emptyRepository, null, null, disabledSnapshot);
+    }
+
+    @Benchmark
+    public Object capturedStackTrace() {
+        return atDepth(stackDepth, () -> capturingBookService.getBookById(1L));
+    }
+
+    @Benchmark
+    public Object preallocatedStackless() {
+        return atDepth(stackDepth, () -> bookService.getBookById(1L));
+    }
+
+    private static Object atDepth(int depth, Supplier<Object> miss) {
+        if (depth > 0) {
+            return atDepth(depth - 1, miss);
+        }
+        try {
+            return miss.get();
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Stands in for {@code ResourceNotFoundException} as it was before it
+     * became stackless.
+     */
+    private static class CapturingNotFoundException extends RuntimeException {
+        CapturingNotFoundException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.library.benchmark;
+
+import com.library.config.TracingConfiguration;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.handler.TracingAwareMeterObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelBaggageManager;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Observation cost of one {@code GET /books/{id}}: the server observation
+ * around controller, facade, service and repository observations and two SQL
+ * statements, each with a connection, query and result-set observation, as
+ * datasource-micrometer records them. The registry is wired as in the
+ * application, with timers, OpenTelemetry spans and 1% parent-based sampling.
+ * {@code serverOnly} disables the layer and JDBC observations, as
+ * {@code management.observations.enable.library/jdbc=false} would;
+ * {@code allLayers} records them on every request; {@code sampledLayers} uses
+ * {@link TracingConfiguration#layerObservationSampling(Supplier)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TracingOverheadBenchmark {
+
+    @Param({"serverOnly", "allLayers", "sampledLayers"})
+    private String observations;
+
+    private SdkTracerProvider tracerProvider;
+    private ObservationRegistry registry;
+
+    @Setup
+    public void setUp() {
+        tracerProvider = SdkTracerProvider.builder()
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(0.01)))
+                .addSpanProcessor(BatchSpanProcessor.builder(SpanExporter.composite()).build())
+                .build();
+        OtelCurrentTraceContext currentTraceContext = new OtelCurrentTraceContext();
+        OtelTracer tracer = new OtelTracer(tracerProvider.get("library"), currentTraceContext, event -> {
+        }, new OtelBaggageManager(currentTraceContext, List.of(), List.of()));
+
+        registry = ObservationRegistry.create();
+        registry.observationConfig()
+                .observationHandler(new TracingAwareMeterObservationHandler<>(
+                        new DefaultMeterObservationHandler(new SimpleMeterRegistry()), tracer))
+                .observationHandler(new DefaultTracingObservationHandler(tracer));
+        ObservationPredicate predicate = switch (observations) {
+            case "serverOnly" -> (name, context) -> !name.startsWith("library.") && !name.startsWith("jdbc.");
+            case "allLayers" -> (name, context) -> true;
+            case "sampledLayers" -> TracingConfiguration.layerObservationSampling(() -> tracer);
+            default -> throw new IllegalArgumentException(observations);
+        };
+        registry.observationConfig().observationPredicate(predicate);
+    }
+
+    @TearDown
+    public void tearDown() {
+        tracerProvider.shutdown().join(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public Object getBookById() {
+        Observation server = Observation.createNotStarted("http.server.requests", registry)
+                .lowCardinalityKeyValue("uri", "/api/v1/books/{id}")
+                .start();
+        try (Observation.Scope scope = server.openScope()) {
+            return layer("library.controller", "book-controller#get-book-by-id", () ->
+                    layer("library.facade", "book-facade#get-book-by-id", () -> {
+                        Object book = layer("library.service", "book-service-impl#get-book-by-id", () ->
+                                layer("library.repository", "book-repository#find-by-id", () -> sql("select from books")));
+                        // the lazy author is loaded while the facade maps the book
+                        sql("select from authors");
+                        return book;
+                    }));
+        } finally {
+            server.stop();
+        }
+    }
+
+    private Object layer(String name, String contextualName, Supplier<Object> call) {
+        return Observation.createNotStarted(name, registry)
+                .contextualName(contextualName)
+                .lowCardinalityKeyValue("class", contextualName)
+                .observe(call);
+    }
+
+    private Object sql(String query) {
+        return Observation.createNotStarted("jdbc.connection", registry).observe(() -> {
+            Observation.createNotStarted("jdbc.query", registry)
+                    .highCardinalityKeyValue("jdbc.query[0]", query)
+                    .observe(() -> { });
+            return Observation.createNotStarted("jdbc.result-set", registry)
+                    .lowCardinalityKeyValue("jdbc.row-count", "1")
+                    .observe(() -> query);
+        });
+    }
+}
@@ -0,0 +1,232 @@
+package com.library.loadtest;
+
+import io.gatling.javaapi.core.ChainBuilder;
+import io.gatling.javaapi.core.Choice;
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Mixed read/write load on every {@code /api/v1} endpoint, with the SLO gates
+ * as Gatling assertions. Settings come from {@code loadtest.*} system
+ * properties, see the {@code loadtest} profile in pom.xml.
+ * <p>
+ * The catalog is seeded through the import endpoint with ids starting above
+ * {@link #ID_BASE}, overwriting any rows with those ids, so point it at a
+ * dedicated database.
+ */
+public class LibraryApiSimulation extends Simulation {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LibraryApiSimulation.class);
+
+    private static final long ID_BASE = 1_000_000;
+    /**
+     * Books per author follow a Zipf distribution with this exponent, so a few
+     * authors own most of the catalog.
+     */
+    private static final double AUTHOR_SKEW = 1.1;
+
+    private static final String[] FIRST_NAMES = {"Anna", "Boris", "Clara", "David", "Elena", "Farid", "Grace", "Hiro",
+            "Ines", "Jonas", "Kira", "Liam", "Maya", "Nikolai", "Olga", "Pavel"};
+    private static final String[] LAST_NAMES = {"Adams", "Brown", "Chen", "Dubois", "Evans", "Fischer", "Garcia",
+            "Ivanova", "Jensen", "Kowalski", "Larsen", "Moreau", "Novak", "Petrov", "Rossi", "Smirnov"};
+    private static final String[] TITLE_WORDS = {"Silent", "River", "Night", "Garden", "Empire", "Shadow", "Winter",
+            "Letters", "Stone", "Journey", "Glass", "Memory", "City", "Storm", "Harbor", "Light", "Secret", "Road"};
+
+    private final String baseUrl = System.getProperty("loadtest.baseUrl", "http://localhost:8080");
+    private final int rps = Integer.getInteger("loadtest.rps", 2000);
+    private final int duration = Integer.getInteger("loadtest.duration", 60);
+    private final int authors = Integer.getInteger("loadtest.authors", 1000);
+    private final int books = Integer.getInteger("loadtest.books", 20000);
+    private final int p95 = Integer.getInteger("loadtest.p95", 250);
+    private final int p99 = Integer.getInteger("loadtest.p99", 500);
+    private final double minRps = Double.parseDouble(System.getProperty("loadtest.minRps", "1900"));
+    private final double maxErrorPercent = Double.parseDouble(System.getProperty("loadtest.maxErrorPercent", "0.1"));
+
+    private final Iterator<Map<String, Object>> feeder = Stream.generate(this::nextRecord).iterator();
+
+    private final HttpProtocolBuilder httpProtocol = http
+            .baseUrl(baseUrl)
+            .acceptHeader("application/json")
+            .contentTypeHeader("application/json")
+            .shareConnections();
+
+    private final ChainBuilder getBook = exec(http("GET /books/{id}").get("/api/v1/books/#{bookId}"));
+
+    private final ChainBuilder getBooks = exec(http("GET /books").get("/api/v1/books"));
+
+    private final ChainBuilder getBookFields = exec(http("GET /books?fields").get("/api/v1/books?fields=id,title"));
+
+    private final ChainBuilder updateBook = exec(http("PUT /books/{id}").put("/api/v1/books/#{bookId}")
+            .body(StringBody("{\"title\":\"#{title}\",\"isbn\":\"#{isbn}\",\"author\":{\"id\":#{authorId}}}")));
+
+    private final ChainBuilder bookLifecycle = exec(
+            http("POST /books").post("/api/v1/books")
+                    .header("Idempotency-Key", "#{requestId}")
+                    .body(StringBody("{\"title\":\"#{title}\",\"isbn\":\"#{isbn}\",\"author\":{\"id\":#{authorId}}}"))
+                    .check(status().is(201), jmesPath("id").saveAs("createdBookId")))
+            .exec(http("PUT /books/{id}").put("/api/v1/books/#{createdBookId}")
+                    .body(StringBody("{\"title\":\"#{title} II\",\"isbn\":\"#{isbn}\",\"author\":{\"id\":#{authorId}}}")))
+            .exec(http("DELETE /books/{id}").delete("/api/v1/books/#{createdBookId}").check(status().is(204)));
+
+    private final ChainBuilder getAuthor = exec(http("GET /authors/{id}").get("/api/v1/authors/#{authorId}"));
+
+    private final ChainBuilder getAuthors = exec(http("GET /authors").get("/api/v1/authors"));
+
+    private final ChainBuilder getAuthorFields = exec(http("GET /authors?fields").get("/api/v1/authors?fields=id"));
+
+    private final ChainBuilder updateAuthor = exec(http("PUT /authors/{id}").put("/api/v1/authors/#{authorId}")
+            .body(StringBody("{\"name\":\"#{authorName}\"}")));
+
+    private final ChainBuilder authorLifecycle = exec(
+            http("POST /authors").post("/api/v1/authors")
+                    .header("Idempotency-Key", "#{requestId}")
+                    .body(StringBody("{\"name\":\"#{authorName}\"}"))
+                    .check(status().is(201), jmesPath("id").saveAs("createdAuthorId")))
+            .exec(http("PUT /authors/{id}").put("/api/v1/authors/#{createdAuthorId}")
+                    .body(StringBody("{\"name\":\"#{authorName} Jr.\"}")))
+            .exec(http("DELETE /authors/{id}").delete("/api/v1/authors/#{createdAuthorId}").check(status().is(204)));
+
+    private final ChainBuilder exportCatalog = exec(http("GET /catalog/export").get("/api/v1/catalog/export")
+            .header("Accept", "application/gzip"));
+
+    private final ScenarioBuilder mixedTraffic = scenario("Mixed /api/v1 traffic")
+            .feed(feeder)
+            .randomSwitch().on(
+                    Choice.withWeight(46.0, getBook),
+                    Choice.withWeight(20.0, getAuthor),
+                    Choice.withWeight(2.0, getBookFields),
+                    Choice.withWeight(0.4, getBooks),
+                    Choice.withWeight(1.5, getAuthors),
+                    Choice.withWeight(1.0, getAuthorFields),
+                    Choice.withWeight(0.1, exportCatalog),
+                    Choice.withWeight(10.0, updateBook),
+                    Choice.withWeight(5.0, updateAuthor),
+                    Choice.withWeight(9.0, bookLifecycle),
+                    Choice.withWeight(5.0, authorLifecycle));
+
+    {
+        setUp(mixedTraffic.injectOpen(
+                rampUsersPerSec(1).to(rps).during(10),
+                constantUsersPerSec(rps).during(duration)))
+                .protocols(httpProtocol)
+                .assertions(
+                        global().responseTime().percentile(95.0).lt(p95),
+                        global().responseTime().percentile(99.0).lt(p99),
+                        global().requestsPerSec().gte(minRps),
+                        global().failedRequests().percent().lte(maxErrorPercent));
+    }
+
+    @Override
+    public void before() {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/catalog/import?format=NDJSON"))
+                .header("Content-Type", "application/gzip")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(seedCatalog()))
+                .build();
+        try {
+            HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with " + response.statusCode() + ": " + response.body());
+            }
+            LOG.info("Seeded catalog: {}", response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Builds a gzip NDJSON catalog in the export format. The first book of
+     * each author is assigned in order so that every author id the feeder
+     * draws exists; the rest follow the Zipf distribution. The fixed seed
+     * keeps runs comparable.
+     */
+    private byte[] seedCatalog() {
+        if (books < authors) {
+            throw new IllegalStateException("loadtest.books (" + books + ") must be at least loadtest.authors (" + authors + ")");
+        }
+        Random random = new Random(42);
+        double[] cumulative = new double[authors];
+        double total = 0;
+        for (int rank = 0; rank < authors; rank++) {
+            total += 1 / Math.pow(rank + 1, AUTHOR_SKEW);
+            cumulative[rank] = total;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(bytes), UTF_8)) {
+            for (int book = 1; book <= books; book++) {
+                int author = book <= authors ? book : zipfAuthor(cumulative, random.nextDouble() * total);
+                writer.write("{\"bookId\":" + (ID_BASE + book)
+                        + ",\"title\":\"" + title(random) + "\""
+                        + ",\"isbn\":\"" + isbn(random) + "\""
+                        + ",\"authorId\":" + (ID_BASE + author)
+                        + ",\"authorName\":\"" + authorName(new Random(author)) + "\"}\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int zipfAuthor(double[] cumulative, double draw) {
+        int rank = Arrays.binarySearch(cumulative, draw);
+        return (rank < 0 ? -rank - 1 : rank) + 1;
+    }
+
+    private Map<String, Object> nextRecord() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return Map.of(
+                "bookId", ID_BASE + 1 + random.nextInt(books),
+                "authorId", ID_BASE + 1 + random.nextInt(authors),
+                "title", title(random),
+                "isbn", isbn(random),
+                "authorName", authorName(random),
+                "requestId", UUID.randomUUID().toString());
+    }
+
+    private static String title(Random random) {
+        StringBuilder title = new StringBuilder(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)]);
+        for (int words = random.nextInt(4); words > 0; words--) {
+            title.append(' ').append(TITLE_WORDS[random.nextInt(TITLE_WORDS.length)]);
+        }
+        return title.toString();
+    }
+
+    private static String isbn(Random random) {
+        StringBuilder isbn = new StringBuilder("978");
+        for (int i = 0; i < 10; i++) {
+            isbn.append(random.nextInt(10));
+        }
+        return isbn.toString();
+    }
+
+    private static String authorName(Random random) {
+        return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+    }
+}
@@ -0,0 +1,27 @@
+package com.library.config;
+
+import com.library.idempotency.DatabaseIdempotencyStore;
+import com.library.idempotency.IdempotencyStore;
+import com.library.idempotency.InMemoryIdempotencyStore;
+import com.library.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class IdempotencyConfiguration {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(@Value("${library.idempotency.store:memory}") String store,
+                                             @Value("${library.idempotency.ttl:24h}") Duration ttl,
+                                             @Value("${library.idempotency.max-entries:10000}") int maxEntries,
+                                             IdempotencyRecordRepository idempotencyRecordRepository) {
+        return switch (store) {
+            case "memory" -> new InMemoryIdempotencyStore(ttl, maxEntries);
+            case "database" -> new DatabaseIdempotencyStore(idempotencyRecordRepository, ttl);
+            default -> throw new IllegalStateException("Unknown library.idempotency.store: " + store);
+        };
+    }
+}
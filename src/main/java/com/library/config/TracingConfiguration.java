@@ -0,0 +1,93 @@
+package com.library.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.util.function.Supplier;
+
+/**
+ * Layer spans for the request path. Controllers, facades and services are
+ * annotated with {@code @Observed}, repositories are wrapped here, and SQL
+ * statements are traced by datasource-micrometer. These observations are only
+ * recorded inside a sampled trace. The exporter is selected with
+ * {@code library.tracing.exporter} ({@code none}, {@code log} or
+ * {@code otlp}); any other {@code SpanExporter} bean is picked up as well.
+ */
+@Configuration
+public class TracingConfiguration {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    @Bean
+    public ObservationPredicate layerObservationSampling(ObjectProvider<Tracer> tracer) {
+        return layerObservationSampling(SingletonSupplier.of(tracer::getIfAvailable));
+    }
+
+    /**
+     * Skips layer and JDBC observations when the enclosing span was not
+     * sampled, so unsampled requests pay for neither their spans nor their
+     * timers. Outside of any span the sampler decides as usual.
+     */
+    public static ObservationPredicate layerObservationSampling(Supplier<Tracer> tracer) {
+        return (name, context) -> {
+            if (!name.startsWith("library.") && !name.startsWith("jdbc.")) {
+                return true;
+            }
+            Tracer currentTracer = tracer.get();
+            Span span = currentTracer == null ? null : currentTracer.currentSpan();
+            return span == null || !Boolean.FALSE.equals(span.context().sampled());
+        };
+    }
+
+    @Bean
+    public SpanExporter librarySpanExporter(@Value("${library.tracing.exporter:none}") String exporter,
+                                            @Value("${management.otlp.tracing.endpoint}") String endpoint) {
+        return switch (exporter) {
+            case "otlp" -> OtlpHttpSpanExporter.builder().setEndpoint(endpoint).build();
+            case "log" -> LoggingSpanExporter.create();
+            case "none" -> SpanExporter.composite();
+            default -> throw new IllegalStateException("Unknown library.tracing.exporter: " + exporter);
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryObservationPostProcessor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(repositoryObservation(
+                                    observationRegistry, repositoryInformation.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor repositoryObservation(ObjectProvider<ObservationRegistry> observationRegistry, String repository) {
+        return invocation -> Observation.createNotStarted("library.repository", observationRegistry.getObject())
+                .contextualName(repository + "#" + invocation.getMethod().getName())
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", invocation.getMethod().getName())
+                .observeChecked(invocation::proceed);
+    }
+}
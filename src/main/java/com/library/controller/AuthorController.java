@@ -2,6 +2,9 @@ package com.library.controller;
 
 import com.library.dto.AuthorDto;
 import com.library.facade.AuthorFacade;
+import com.library.fields.SparseFields;
+import com.library.idempotency.IdempotencyService;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -9,18 +12,24 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/authors")
 @AllArgsConstructor
+@Observed(name = "library.controller")
 public class AuthorController {
 
     private final AuthorFacade authorFacade;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
-    public ResponseEntity<AuthorDto> createAuthor(@RequestBody @Valid AuthorDto authorDto) {
-        AuthorDto createdAuthor = authorFacade.createAuthor(authorDto);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdAuthor);
+    public ResponseEntity<AuthorDto> createAuthor(@RequestBody @Valid AuthorDto authorDto,
+                                                  @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("authors", idempotencyKey, authorDto, AuthorDto.class, () -> {
+            AuthorDto createdAuthor = authorFacade.createAuthor(authorDto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdAuthor);
+        });
     }
 
     @GetMapping("/{id}")
@@ -35,6 +44,12 @@ public class AuthorController {
         return ResponseEntity.ok(authors);
     }
 
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllAuthors(@RequestParam String fields) {
+        List<Map<String, Object>> authors = authorFacade.getAllAuthors(SparseFields.parse(fields, SparseFields.AUTHOR_FIELDS));
+        return ResponseEntity.ok(authors);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<AuthorDto> updateAuthor(@PathVariable Long id, @RequestBody @Valid AuthorDto authorDto) {
         AuthorDto updatedAuthor = authorFacade.updateAuthor(id, authorDto);
@@ -2,6 +2,9 @@ package com.library.controller;
 
 import com.library.dto.BookDto;
 import com.library.facade.BookFacade;
+import com.library.fields.SparseFields;
+import com.library.idempotency.IdempotencyService;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -9,18 +12,24 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/books")
 @AllArgsConstructor
+@Observed(name = "library.controller")
 public class BookController {
 
     private final BookFacade bookFacade;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping
-    public ResponseEntity<BookDto> createBook(@RequestBody @Valid BookDto bookDto) {
-        BookDto createdBook = bookFacade.createBook(bookDto);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdBook);
+    public ResponseEntity<BookDto> createBook(@RequestBody @Valid BookDto bookDto,
+                                              @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute("books", idempotencyKey, bookDto, BookDto.class, () -> {
+            BookDto createdBook = bookFacade.createBook(bookDto);
+            return ResponseEntity.status(HttpStatus.CREATED).body(createdBook);
+        });
     }
 
     @GetMapping("/{id}")
@@ -35,6 +44,12 @@ public class BookController {
         return ResponseEntity.ok(books);
     }
 
+    @GetMapping(params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllBooks(@RequestParam String fields) {
+        List<Map<String, Object>> books = bookFacade.getAllBooks(SparseFields.parse(fields, SparseFields.BOOK_FIELDS));
+        return ResponseEntity.ok(books);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<BookDto> updateBook(@PathVariable Long id, @RequestBody @Valid BookDto bookDto) {
         BookDto updatedBook = bookFacade.updateBook(id, bookDto);
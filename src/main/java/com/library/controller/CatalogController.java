@@ -0,0 +1,40 @@
+package com.library.controller;
+
+import com.library.dto.CatalogFormat;
+import com.library.dto.CatalogImportResultDto;
+import com.library.service.CatalogService;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/v1/catalog")
+@AllArgsConstructor
+public class CatalogController {
+
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final CatalogService catalogService;
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportCatalog(@RequestParam(defaultValue = "NDJSON") CatalogFormat format) {
+        StreamingResponseBody body = out -> catalogService.exportCatalog(format, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"catalog." + format.getExtension() + ".gz\"")
+                .contentType(APPLICATION_GZIP)
+                .body(body);
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<CatalogImportResultDto> importCatalog(@RequestParam(defaultValue = "NDJSON") CatalogFormat format,
+                                                                InputStream body) throws IOException {
+        CatalogImportResultDto result = catalogService.importCatalog(format, body);
+        return ResponseEntity.ok(result);
+    }
+}
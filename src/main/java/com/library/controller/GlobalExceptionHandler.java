@@ -1,11 +1,18 @@
 package com.library.controller;
 
 import com.library.exception.AppException;
+import com.library.exception.IdempotencyKeyReusedException;
+import com.library.exception.InvalidRequestException;
 import com.library.exception.ResourceNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.stream.Collectors;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -15,4 +22,33 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(new AppException(HttpStatus.NOT_FOUND.value(), e.getMessage()), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<AppException> catchInvalidRequestException(InvalidRequestException e) {
+        return new ResponseEntity<>(new AppException(HttpStatus.BAD_REQUEST.value(), e.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<AppException> catchIdempotencyKeyReusedException(IdempotencyKeyReusedException e) {
+        return new ResponseEntity<>(new AppException(HttpStatus.UNPROCESSABLE_ENTITY.value(), e.getMessage()), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<AppException> catchMethodArgumentNotValidException(MethodArgumentNotValidException e) {
+        String message = e.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.joining("; "));
+        return new ResponseEntity<>(new AppException(HttpStatus.BAD_REQUEST.value(), message), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<AppException> catchMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException e) {
+        String message = "Invalid value '" + e.getValue() + "' for " + e.getName();
+        return new ResponseEntity<>(new AppException(HttpStatus.BAD_REQUEST.value(), message), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<AppException> catchHttpMessageNotReadableException(HttpMessageNotReadableException e) {
+        return new ResponseEntity<>(new AppException(HttpStatus.BAD_REQUEST.value(), "Malformed request body"), HttpStatus.BAD_REQUEST);
+    }
+
 }
@@ -1,5 +1,7 @@
 package com.library.dto;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -8,6 +10,15 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 public class AuthorDto {
+    @NotNull(groups = Reference.class)
     private Long id;
+    @NotBlank
     private String name;
+
+    /**
+     * Validation group for an author referenced from a book, where only the id
+     * is required.
+     */
+    public interface Reference {
+    }
 }
\ No newline at end of file
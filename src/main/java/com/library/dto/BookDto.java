@@ -1,5 +1,10 @@
 package com.library.dto;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.groups.ConvertGroup;
+import jakarta.validation.groups.Default;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -9,7 +14,12 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 public class BookDto {
     private Long id;
+    @NotBlank
     private String title;
+    @NotBlank
     private String isbn;
+    @NotNull
+    @Valid
+    @ConvertGroup(from = Default.class, to = AuthorDto.Reference.class)
     private AuthorDto author;
 }
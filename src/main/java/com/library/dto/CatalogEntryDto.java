@@ -0,0 +1,16 @@
+package com.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogEntryDto {
+    private Long bookId;
+    private String title;
+    private String isbn;
+    private Long authorId;
+    private String authorName;
+}
@@ -0,0 +1,14 @@
+package com.library.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CatalogImportResultDto {
+    private long rows;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+}
@@ -1,7 +1,11 @@
 package com.library.exception;
 
+/**
+ * Thrown for missing resources. It carries no stack trace, since the handler
+ * only reads the message, so services can throw a shared instance on misses.
+ */
 public class ResourceNotFoundException extends RuntimeException{
     public ResourceNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
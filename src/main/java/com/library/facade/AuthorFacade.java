@@ -2,16 +2,20 @@ package com.library.facade;
 
 import com.library.dto.AuthorDto;
 import com.library.entity.Author;
+import com.library.fields.SparseFields;
 import com.library.service.AuthorService;
+import io.micrometer.observation.annotation.Observed;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
 @AllArgsConstructor
+@Observed(name = "library.facade")
 public class AuthorFacade {
 
     private final AuthorService authorService;
@@ -33,6 +37,11 @@ public class AuthorFacade {
         return authors.stream().map(author -> modelMapper.map(author, AuthorDto.class)).collect(Collectors.toList());
     }
 
+    public List<Map<String, Object>> getAllAuthors(SparseFields fields) {
+        List<Object[]> rows = authorService.getAllAuthorFields(fields.getPaths());
+        return rows.stream().map(row -> fields.project(i -> row[i])).collect(Collectors.toList());
+    }
+
     public AuthorDto updateAuthor(Long id, AuthorDto authorDto) {
         Author author = modelMapper.map(authorDto, Author.class);
         Author updatedAuthor = authorService.updateAuthor(id, author);
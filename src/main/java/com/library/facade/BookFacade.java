@@ -2,16 +2,20 @@ package com.library.facade;
 
 import com.library.dto.BookDto;
 import com.library.entity.Book;
+import com.library.fields.SparseFields;
 import com.library.service.BookService;
+import io.micrometer.observation.annotation.Observed;
 import lombok.AllArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Component
 @AllArgsConstructor
+@Observed(name = "library.facade")
 public class BookFacade {
 
     private final BookService bookService;
@@ -33,6 +37,11 @@ public class BookFacade {
         return books.stream().map(book -> modelMapper.map(book, BookDto.class)).collect(Collectors.toList());
     }
 
+    public List<Map<String, Object>> getAllBooks(SparseFields fields) {
+        List<Object[]> rows = bookService.getAllBookFields(fields.getPaths());
+        return rows.stream().map(row -> fields.project(i -> row[i])).collect(Collectors.toList());
+    }
+
     public BookDto updateBook(Long id, BookDto bookDto) {
         Book book = modelMapper.map(bookDto, Book.class);
         Book updatedBook = bookService.updateBook(id, book);
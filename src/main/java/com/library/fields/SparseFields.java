@@ -0,0 +1,70 @@
+package com.library.fields;
+
+import com.library.exception.InvalidRequestException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Field selection from a {@code ?fields=id,title,author.name} parameter. A
+ * parent name such as {@code author} selects all of its nested fields.
+ */
+public class SparseFields {
+
+    public static final List<String> BOOK_FIELDS = List.of("id", "title", "isbn", "author.id", "author.name");
+    public static final List<String> AUTHOR_FIELDS = List.of("id", "name");
+
+    private final List<String> paths;
+    private final List<String[]> segments = new ArrayList<>();
+
+    private SparseFields(List<String> paths) {
+        this.paths = paths;
+        for (String path : paths) {
+            segments.add(path.split("\\."));
+        }
+    }
+
+    public static SparseFields parse(String fields, List<String> allowed) {
+        Set<String> paths = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (allowed.contains(name)) {
+                paths.add(name);
+                continue;
+            }
+            List<String> nested = allowed.stream().filter(path -> path.startsWith(name + ".")).toList();
+            if (name.isEmpty() || nested.isEmpty()) {
+                throw new InvalidRequestException("Unknown field '" + name + "', expected one of " + allowed);
+            }
+            paths.addAll(nested);
+        }
+        return new SparseFields(new ArrayList<>(paths));
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Builds one response object holding only the selected fields, nesting
+     * dotted paths. Values are looked up by the position of their path.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> project(IntFunction<Object> valueAt) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (int i = 0; i < paths.size(); i++) {
+            String[] path = segments.get(i);
+            Map<String, Object> target = result;
+            for (int depth = 0; depth < path.length - 1; depth++) {
+                target = (Map<String, Object>) target.computeIfAbsent(path[depth], key -> new LinkedHashMap<String, Object>());
+            }
+            target.put(path[path.length - 1], valueAt.apply(i));
+        }
+        return result;
+    }
+}
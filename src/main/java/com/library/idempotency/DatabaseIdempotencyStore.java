@@ -0,0 +1,42 @@
+package com.library.idempotency;
+
+import com.library.entity.IdempotencyRecord;
+import com.library.repository.IdempotencyRecordRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Store shared by all instances through the {@code idempotency_keys} table.
+ * Expired rows are ignored on read and purged periodically.
+ */
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final Duration ttl;
+
+    public DatabaseIdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository, Duration ttl) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Optional<IdempotentResponse> find(String key) {
+        return idempotencyRecordRepository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(Instant.now()))
+                .map(record -> new IdempotentResponse(record.getFingerprint(), record.getStatus(), record.getBody()));
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response) {
+        idempotencyRecordRepository.save(new IdempotencyRecord(key, response.getFingerprint(), response.getStatus(),
+                response.getBody(), Instant.now().plus(ttl)));
+    }
+
+    @Scheduled(fixedDelayString = "${library.idempotency.cleanup-interval:PT10M}")
+    public void deleteExpired() {
+        idempotencyRecordRepository.deleteExpired(Instant.now());
+    }
+}
@@ -0,0 +1,162 @@
+package com.library.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.exception.IdempotencyKeyReusedException;
+import com.library.exception.InvalidRequestException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs a create request at most once per {@code Idempotency-Key}. Retries get
+ * the stored response, and a retry that arrives while the first attempt is
+ * still running waits for it on this instance instead of running again.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    public static final int MAX_KEY_LENGTH = 255;
+    public static final int MAX_SCOPE_LENGTH = 16;
+    /**
+     * Longest key handed to the store, {@code scope + ":" + key}.
+     */
+    public static final int MAX_STORE_KEY_LENGTH = MAX_SCOPE_LENGTH + 1 + MAX_KEY_LENGTH;
+
+    private final IdempotencyStore idempotencyStore;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param scope   separates keys of different endpoints, at most {@value #MAX_SCOPE_LENGTH} characters
+     * @param key     header value; without one the action simply runs
+     * @param request request body, fingerprinted to detect a reused key
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String scope, String key, Object request, Class<T> bodyType,
+                                         Supplier<ResponseEntity<T>> action) {
+        if (scope.length() > MAX_SCOPE_LENGTH) {
+            throw new IllegalArgumentException("Idempotency scope " + scope + " is longer than " + MAX_SCOPE_LENGTH);
+        }
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidRequestException(HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String storeKey = scope + ":" + key;
+        String fingerprint = fingerprint(request);
+
+        Optional<IdempotentResponse> stored = idempotencyStore.find(storeKey);
+        if (stored.isPresent()) {
+            return replay(stored.get(), fingerprint, bodyType);
+        }
+
+        InFlight current = new InFlight(fingerprint);
+        InFlight running = inFlight.putIfAbsent(storeKey, current);
+        if (running != null) {
+            checkFingerprint(running.fingerprint, fingerprint);
+            return (ResponseEntity<T>) await(running.response);
+        }
+        try {
+            // the previous attempt may have finished between the lookup and putIfAbsent
+            stored = idempotencyStore.find(storeKey);
+            ResponseEntity<T> response = stored.isPresent() ? replay(stored.get(), fingerprint, bodyType) : action.get();
+            if (stored.isEmpty() && response.getStatusCode().is2xxSuccessful()) {
+                store(storeKey, new IdempotentResponse(fingerprint, response.getStatusCode().value(),
+                        toJson(response.getBody())));
+            }
+            current.response.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            current.response.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(storeKey, current);
+        }
+    }
+
+    /**
+     * The action already succeeded, so a failed save, such as another instance
+     * racing on the same key, must not turn the response into an error.
+     */
+    private void store(String storeKey, IdempotentResponse response) {
+        try {
+            idempotencyStore.save(storeKey, response);
+        } catch (RuntimeException e) {
+            log.warn("Could not store the response for {} {}; a retry will run again", HEADER, storeKey, e);
+        }
+    }
+
+    private <T> ResponseEntity<T> replay(IdempotentResponse stored, String fingerprint, Class<T> bodyType) {
+        checkFingerprint(stored.getFingerprint(), fingerprint);
+        try {
+            T body = stored.getBody() == null ? null : objectMapper.readValue(stored.getBody(), bodyType);
+            return ResponseEntity.status(stored.getStatus()).header(REPLAYED_HEADER, "true").body(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String toJson(Object body) {
+        try {
+            return body == null ? null : objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void checkFingerprint(String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IdempotencyKeyReusedException(HEADER + " was already used for a different request");
+        }
+    }
+
+    private static ResponseEntity<?> await(CompletableFuture<ResponseEntity<?>> response) {
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static final class InFlight {
+        final String fingerprint;
+        final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        InFlight(String fingerprint) {
+            this.fingerprint = fingerprint;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.library.idempotency;
+
+import java.util.Optional;
+
+/**
+ * Keeps completed responses for {@code library.idempotency.ttl}. Selected with
+ * {@code library.idempotency.store}, see {@code IdempotencyConfiguration}.
+ */
+public interface IdempotencyStore {
+    Optional<IdempotentResponse> find(String key);
+
+    void save(String key, IdempotentResponse response);
+}
@@ -0,0 +1,16 @@
+package com.library.idempotency;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class IdempotentResponse {
+    /**
+     * Hex SHA-256 of the serialized request body, used to reject a key reused
+     * for another request.
+     */
+    private String fingerprint;
+    private int status;
+    private String body;
+}
@@ -0,0 +1,54 @@
+package com.library.idempotency;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Per-instance store holding at most {@code library.idempotency.max-entries}
+ * responses; the oldest entry is evicted first.
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+
+    public InMemoryIdempotencyStore(Duration ttl, int maxEntries) {
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public synchronized Optional<IdempotentResponse> find(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.response);
+    }
+
+    @Override
+    public synchronized void save(String key, IdempotentResponse response) {
+        entries.put(key, new Entry(System.currentTimeMillis() + ttlMillis, response));
+    }
+
+    private static final class Entry {
+        final long expiresAt;
+        final IdempotentResponse response;
+
+        Entry(long expiresAt, IdempotentResponse response) {
+            this.expiresAt = expiresAt;
+            this.response = response;
+        }
+    }
+}
@@ -1,9 +1,21 @@
 package com.library.repository;
 
+import com.library.dto.CatalogEntryDto;
 import com.library.entity.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
+
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
+
+    @Query("select new com.library.dto.CatalogEntryDto(b.id, b.title, b.isbn, a.id, a.name) " +
+            "from Book b join b.author a order by b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<CatalogEntryDto> streamCatalog();
 }
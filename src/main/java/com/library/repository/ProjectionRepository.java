@@ -0,0 +1,57 @@
+package com.library.repository;
+
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Selects only the requested attribute paths of an entity. An association is
+ * joined only when one of its non-id attributes is requested; its id is read
+ * from the foreign key column.
+ */
+@Repository
+@Observed(name = "library.repository")
+public class ProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Returns one tuple per row, with values in the order of {@code paths}.
+     */
+    @Transactional(readOnly = true)
+    public List<Tuple> findAll(Class<?> entityClass, List<String> paths) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<?> root = query.from(entityClass);
+        Map<String, Join<?, ?>> joins = new HashMap<>();
+        List<Selection<?>> selections = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            int dot = path.indexOf('.');
+            if (dot < 0) {
+                selections.add(root.get(path));
+                continue;
+            }
+            String association = path.substring(0, dot);
+            String attribute = path.substring(dot + 1);
+            Path<?> owner = "id".equals(attribute) ? root.get(association) : joins.computeIfAbsent(association, root::join);
+            selections.add(owner.get(attribute));
+        }
+        query.multiselect(selections);
+        return entityManager.createQuery(query).getResultList();
+    }
+}
@@ -11,6 +11,8 @@ public interface AuthorService {
 
     List<Author> getAllAuthors();
 
+    List<Object[]> getAllAuthorFields(List<String> paths);
+
     Author updateAuthor(Long id, Author author);
 
     void deleteAuthor(Long id);
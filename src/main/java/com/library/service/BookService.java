@@ -11,6 +11,8 @@ public interface BookService {
 
     List<Book> getAllBooks();
 
+    List<Object[]> getAllBookFields(List<String> paths);
+
     Book updateBook(Long id, Book book);
 
     void deleteBook(Long id);
@@ -0,0 +1,14 @@
+package com.library.service;
+
+import com.library.dto.CatalogFormat;
+import com.library.dto.CatalogImportResultDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public interface CatalogService {
+    long exportCatalog(CatalogFormat format, OutputStream out) throws IOException;
+
+    CatalogImportResultDto importCatalog(CatalogFormat format, InputStream in) throws IOException;
+}
@@ -3,7 +3,11 @@ package com.library.service.impl;
 import com.library.entity.Author;
 import com.library.exception.ResourceNotFoundException;
 import com.library.repository.AuthorRepository;
+import com.library.repository.ProjectionRepository;
 import com.library.service.AuthorService;
+import com.library.snapshot.CatalogSnapshot;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.Tuple;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -11,35 +15,75 @@ import java.util.List;
 
 @Service
 @AllArgsConstructor
+@Observed(name = "library.service")
 public class AuthorServiceImpl implements AuthorService {
 
+    static final ResourceNotFoundException AUTHOR_NOT_FOUND = new ResourceNotFoundException("Author not found");
+
     private final AuthorRepository authorRepository;
+    private final ProjectionRepository projectionRepository;
+    private final CatalogSnapshot catalogSnapshot;
 
     @Override
     public Author createAuthor(Author author) {
-        return authorRepository.save(author);
+        Author savedAuthor = authorRepository.save(author);
+        catalogSnapshot.authorChanged(savedAuthor.getId());
+        return savedAuthor;
     }
 
     @Override
     public Author getAuthorById(Long id) {
-        return authorRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Author not found"));
+        if (catalogSnapshot.isEnabled()) {
+            return catalogSnapshot.getAuthor(id).orElseThrow(() -> AUTHOR_NOT_FOUND);
+        }
+        return findAuthor(id);
     }
 
     @Override
     public List<Author> getAllAuthors() {
+        if (catalogSnapshot.isEnabled()) {
+            return catalogSnapshot.getAllAuthors();
+        }
         return authorRepository.findAll();
     }
 
+    @Override
+    public List<Object[]> getAllAuthorFields(List<String> paths) {
+        if (catalogSnapshot.isEnabled()) {
+            return catalogSnapshot.getAllAuthors().stream().map(author -> authorFields(author, paths)).toList();
+        }
+        return projectionRepository.findAll(Author.class, paths).stream().map(Tuple::toArray).toList();
+    }
+
     @Override
     public Author updateAuthor(Long id, Author author) {
-        Author existingAuthor = getAuthorById(id);
+        Author existingAuthor = findAuthor(id);
         existingAuthor.setName(author.getName());
-        return authorRepository.save(existingAuthor);
+        Author updatedAuthor = authorRepository.save(existingAuthor);
+        catalogSnapshot.authorChanged(id);
+        return updatedAuthor;
     }
 
     @Override
     public void deleteAuthor(Long id) {
-        Author author = getAuthorById(id);
+        Author author = findAuthor(id);
         authorRepository.delete(author);
+        catalogSnapshot.authorChanged(id);
+    }
+
+    private static Object[] authorFields(Author author, List<String> paths) {
+        Object[] values = new Object[paths.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = switch (paths.get(i)) {
+                case "id" -> author.getId();
+                case "name" -> author.getName();
+                default -> throw new IllegalArgumentException("Unknown author field " + paths.get(i));
+            };
+        }
+        return values;
+    }
+
+    private Author findAuthor(Long id) {
+        return authorRepository.findById(id).orElseThrow(() -> AUTHOR_NOT_FOUND);
     }
 }
@@ -1,47 +1,108 @@
 package com.library.service.impl;
 
+import com.library.entity.Author;
 import com.library.entity.Book;
 import com.library.exception.ResourceNotFoundException;
+import com.library.repository.AuthorRepository;
 import com.library.repository.BookRepository;
+import com.library.repository.ProjectionRepository;
 import com.library.service.BookService;
+import com.library.snapshot.CatalogSnapshot;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.Tuple;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
+import static com.library.service.impl.AuthorServiceImpl.AUTHOR_NOT_FOUND;
+
 @Service
 @AllArgsConstructor
+@Observed(name = "library.service")
 public class BookServiceImpl implements BookService {
 
+    private static final ResourceNotFoundException BOOK_NOT_FOUND = new ResourceNotFoundException("Book not found");
+
     private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final ProjectionRepository projectionRepository;
+    private final CatalogSnapshot catalogSnapshot;
 
     @Override
     public Book createBook(Book book) {
-        return bookRepository.save(book);
+        book.setAuthor(findAuthor(book.getAuthor()));
+        Book savedBook = bookRepository.save(book);
+        catalogSnapshot.bookChanged(savedBook.getId());
+        return savedBook;
     }
 
     @Override
     public Book getBookById(Long id) {
-        return bookRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Book not found"));
+        if (catalogSnapshot.isEnabled()) {
+            return catalogSnapshot.getBook(id).orElseThrow(() -> BOOK_NOT_FOUND);
+        }
+        return findBook(id);
     }
 
     @Override
     public List<Book> getAllBooks() {
+        if (catalogSnapshot.isEnabled()) {
+            return catalogSnapshot.getAllBooks();
+        }
         return bookRepository.findAll();
     }
 
+    @Override
+    public List<Object[]> getAllBookFields(List<String> paths) {
+        if (catalogSnapshot.isEnabled()) {
+            return catalogSnapshot.getAllBooks().stream().map(book -> bookFields(book, paths)).toList();
+        }
+        return projectionRepository.findAll(Book.class, paths).stream().map(Tuple::toArray).toList();
+    }
+
     @Override
     public Book updateBook(Long id, Book book) {
-        Book existingBook = getBookById(id);
+        Book existingBook = findBook(id);
         existingBook.setTitle(book.getTitle());
         existingBook.setIsbn(book.getIsbn());
-        existingBook.setAuthor(book.getAuthor());
-        return bookRepository.save(existingBook);
+        existingBook.setAuthor(findAuthor(book.getAuthor()));
+        Book updatedBook = bookRepository.save(existingBook);
+        catalogSnapshot.bookChanged(id);
+        return updatedBook;
     }
 
     @Override
     public void deleteBook(Long id) {
-        Book book = getBookById(id);
+        Book book = findBook(id);
         bookRepository.delete(book);
+        catalogSnapshot.bookChanged(id);
+    }
+
+    private static Object[] bookFields(Book book, List<String> paths) {
+        Object[] values = new Object[paths.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = switch (paths.get(i)) {
+                case "id" -> book.getId();
+                case "title" -> book.getTitle();
+                case "isbn" -> book.getIsbn();
+                case "author.id" -> book.getAuthor().getId();
+                case "author.name" -> book.getAuthor().getName();
+                default -> throw new IllegalArgumentException("Unknown book field " + paths.get(i));
+            };
+        }
+        return values;
+    }
+
+    private Book findBook(Long id) {
+        return bookRepository.findById(id).orElseThrow(() -> BOOK_NOT_FOUND);
+    }
+
+    /**
+     * Resolves the referenced author, so an unknown id is a 404 rather than a
+     * foreign key violation on insert.
+     */
+    private Author findAuthor(Author author) {
+        return authorRepository.findById(author.getId()).orElseThrow(() -> AUTHOR_NOT_FOUND);
     }
 }
@@ -0,0 +1,97 @@
+package com.library.service.impl;
+
+import com.library.dto.CatalogEntryDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 reader/writer for catalog rows. Quoted fields may contain
+ * commas, quotes and line breaks.
+ */
+final class CatalogCsv {
+
+    static final String HEADER = "book_id,title,isbn,author_id,author_name";
+
+    private CatalogCsv() {
+    }
+
+    static void write(Writer writer, CatalogEntryDto entry) throws IOException {
+        writer.write(String.valueOf(entry.getBookId()));
+        writer.write(',');
+        writeField(writer, entry.getTitle());
+        writer.write(',');
+        writeField(writer, entry.getIsbn());
+        writer.write(',');
+        writer.write(String.valueOf(entry.getAuthorId()));
+        writer.write(',');
+        writeField(writer, entry.getAuthorName());
+        writer.write('\n');
+    }
+
+    static CatalogEntryDto toEntry(List<String> record) {
+        if (record.size() != 5) {
+            throw new IllegalArgumentException("Expected 5 CSV columns but got " + record.size());
+        }
+        return new CatalogEntryDto(Long.valueOf(record.get(0)), record.get(1), record.get(2),
+                Long.valueOf(record.get(3)), record.get(4));
+    }
+
+    /**
+     * Reads the next record, skipping blank lines, or returns {@code null} at
+     * end of input.
+     */
+    static List<String> readRecord(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        while (c == '\r' || c == '\n') {
+            c = reader.read();
+        }
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>(5);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
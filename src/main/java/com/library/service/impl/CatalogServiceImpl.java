@@ -0,0 +1,180 @@
+package com.library.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.library.dto.CatalogEntryDto;
+import com.library.dto.CatalogFormat;
+import com.library.dto.CatalogImportResultDto;
+import com.library.exception.InvalidRequestException;
+import com.library.repository.BookRepository;
+import com.library.service.CatalogService;
+import com.library.snapshot.CatalogSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@Slf4j
+@Service
+@AllArgsConstructor
+public class CatalogServiceImpl implements CatalogService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String UPSERT_AUTHOR = "INSERT INTO authors (id, name) VALUES (?, ?) " +
+            "ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name";
+    private static final String UPSERT_BOOK = "INSERT INTO books (id, title, isbn, author_id) VALUES (?, ?, ?, ?) " +
+            "ON CONFLICT (id) DO UPDATE SET title = EXCLUDED.title, isbn = EXCLUDED.isbn, author_id = EXCLUDED.author_id";
+    private static final String RESYNC_IDENTITY = "SELECT setval(pg_get_serial_sequence('%1$s', 'id'), " +
+            "(SELECT COALESCE(MAX(id), 0) + 1 FROM %1$s), false)";
+
+    private final BookRepository bookRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final CatalogSnapshot catalogSnapshot;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportCatalog(CatalogFormat format, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long rows = 0;
+        try (Stream<CatalogEntryDto> entries = bookRepository.streamCatalog();
+             Writer writer = new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(out, BUFFER_SIZE), UTF_8), BUFFER_SIZE)) {
+            Iterator<CatalogEntryDto> iterator = entries.iterator();
+            if (format == CatalogFormat.CSV) {
+                writer.write(CatalogCsv.HEADER);
+                writer.write('\n');
+                while (iterator.hasNext()) {
+                    CatalogCsv.write(writer, iterator.next());
+                    rows++;
+                }
+            } else {
+                try (SequenceWriter sequenceWriter = objectMapper.writerFor(CatalogEntryDto.class)
+                        .withRootValueSeparator("\n")
+                        .writeValues(writer)) {
+                    while (iterator.hasNext()) {
+                        sequenceWriter.write(iterator.next());
+                        rows++;
+                    }
+                }
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        log.info("Exported {} catalog rows as {} in {} ms ({} rows/s)", rows, format, elapsedMillis, rowsPerSecond(rows, elapsedMillis));
+        return rows;
+    }
+
+    @Override
+    @Transactional
+    public CatalogImportResultDto importCatalog(CatalogFormat format, InputStream in) throws IOException {
+        long started = System.nanoTime();
+        ImportBatch batch = new ImportBatch();
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new GZIPInputStream(in, BUFFER_SIZE), UTF_8), BUFFER_SIZE);
+            if (format == CatalogFormat.CSV) {
+                CatalogCsv.readRecord(reader);
+                List<String> record;
+                while ((record = CatalogCsv.readRecord(reader)) != null) {
+                    batch.add(CatalogCsv.toEntry(record));
+                }
+            } else {
+                MappingIterator<CatalogEntryDto> iterator = objectMapper.readerFor(CatalogEntryDto.class).readValues(reader);
+                while (iterator.hasNextValue()) {
+                    batch.add(iterator.nextValue());
+                }
+            }
+        } catch (JsonProcessingException e) {
+            throw invalidCatalog(format, batch, e.getOriginalMessage());
+        } catch (ZipException | EOFException | IllegalArgumentException e) {
+            throw invalidCatalog(format, batch, e.getMessage());
+        }
+        batch.flush();
+        jdbcTemplate.queryForObject(String.format(RESYNC_IDENTITY, "authors"), Long.class);
+        jdbcTemplate.queryForObject(String.format(RESYNC_IDENTITY, "books"), Long.class);
+        catalogSnapshot.catalogReplaced();
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        long rowsPerSecond = rowsPerSecond(batch.rows, elapsedMillis);
+        log.info("Imported {} catalog rows as {} in {} ms ({} rows/s)", batch.rows, format, elapsedMillis, rowsPerSecond);
+        return new CatalogImportResultDto(batch.rows, elapsedMillis, rowsPerSecond);
+    }
+
+    /**
+     * Rejects the whole import; the transaction rolls back any batches
+     * already sent.
+     */
+    private static InvalidRequestException invalidCatalog(CatalogFormat format, ImportBatch batch, String reason) {
+        return new InvalidRequestException("Invalid " + format + " catalog at row " + (batch.rows + 1) + ": " + reason);
+    }
+
+    private static long rowsPerSecond(long rows, long elapsedMillis) {
+        return rows * 1000 / Math.max(elapsedMillis, 1);
+    }
+
+    /**
+     * Buffers upserts and sends them as JDBC batches. Authors are flushed ahead
+     * of the books that reference them. A book id repeated within one batch
+     * keeps its last row, since the driver rewrites the batch into a single
+     * multi-row upsert, which may not touch the same row twice.
+     */
+    private class ImportBatch {
+        private final Set<Long> seenAuthorIds = new HashSet<>();
+        private final List<Object[]> authors = new ArrayList<>();
+        private final Map<Long, Object[]> books = new LinkedHashMap<>();
+        private long rows;
+
+        void add(CatalogEntryDto entry) {
+            if (entry.getBookId() == null || entry.getTitle() == null || entry.getIsbn() == null
+                    || entry.getAuthorId() == null || entry.getAuthorName() == null) {
+                throw new IllegalArgumentException("bookId, title, isbn, authorId and authorName are required");
+            }
+            if (seenAuthorIds.add(entry.getAuthorId())) {
+                authors.add(new Object[]{entry.getAuthorId(), entry.getAuthorName()});
+            }
+            books.put(entry.getBookId(), new Object[]{entry.getBookId(), entry.getTitle(), entry.getIsbn(), entry.getAuthorId()});
+            rows++;
+            if (books.size() == BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!authors.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_AUTHOR, authors);
+                authors.clear();
+            }
+            if (!books.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_BOOK, new ArrayList<>(books.values()));
+                books.clear();
+            }
+        }
+    }
+}
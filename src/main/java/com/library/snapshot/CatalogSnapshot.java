@@ -0,0 +1,291 @@
+package com.library.snapshot;
+
+import com.library.dto.CatalogEntryDto;
+import com.library.entity.Author;
+import com.library.entity.Book;
+import com.library.repository.AuthorRepository;
+import com.library.repository.BookRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory copy of the whole catalog, enabled with
+ * {@code library.snapshot.enabled}. Reads never lock. Rows written through the
+ * services are re-read once their transaction commits, so a client sees its
+ * own writes on this instance. Writes made by other instances show up at the
+ * next periodic {@link #reload()}, every {@code library.snapshot.reload-interval}.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshot {
+
+    private final boolean enabled;
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    /**
+     * Shared by writers, which are already isolated per segment, and held
+     * exclusively by {@link #reload()} only to start tracking changes and to
+     * swap in the new maps, not while it reads the catalog.
+     */
+    private final ReadWriteLock reloadLock = new ReentrantReadWriteLock();
+    private final Object reloadMonitor = new Object();
+
+    private volatile LongSnapshotMap<SnapshotBook> books = LongSnapshotMap.empty();
+    private volatile LongSnapshotMap<String> authors = LongSnapshotMap.empty();
+    /**
+     * Ids written while a reload reads the catalog, replayed on the new maps;
+     * {@code null} when no reload is running. Set under the write lock of
+     * {@link #reloadLock} and added to under its read lock.
+     */
+    private volatile ChangedIds changedDuringReload;
+
+    public CatalogSnapshot(@Value("${library.snapshot.enabled:false}") boolean enabled,
+                           BookRepository bookRepository,
+                           AuthorRepository authorRepository,
+                           PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // reads run from afterCommit callbacks, where REQUIRED would join the finished transaction
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void load() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Rebuilds the snapshot from the database without blocking writers while
+     * it reads; their changes are replayed on the new maps.
+     */
+    @Scheduled(initialDelayString = "${library.snapshot.reload-interval:PT5M}",
+            fixedDelayString = "${library.snapshot.reload-interval:PT5M}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (reloadMonitor) {
+            reloadLock.writeLock().lock();
+            try {
+                changedDuringReload = new ChangedIds();
+            } finally {
+                reloadLock.writeLock().unlock();
+            }
+            LongSnapshotMap.Builder<String> authorBuilder = new LongSnapshotMap.Builder<>();
+            LongSnapshotMap.Builder<SnapshotBook> bookBuilder = new LongSnapshotMap.Builder<>();
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    for (Author author : authorRepository.findAll()) {
+                        authorBuilder.put(author.getId(), author.getName().intern());
+                    }
+                    try (Stream<CatalogEntryDto> entries = bookRepository.streamCatalog()) {
+                        entries.forEach(entry -> bookBuilder.put(entry.getBookId(),
+                                new SnapshotBook(entry.getBookId(), entry.getTitle(), entry.getIsbn(), entry.getAuthorId())));
+                    }
+                });
+            } catch (RuntimeException e) {
+                swap(null, null);
+                throw e;
+            }
+            ChangedIds changed = swap(authorBuilder.build(), bookBuilder.build());
+            // the read may have started before these commits, so re-read them on the new maps
+            for (long id : changed.authors) {
+                underReadLock(() -> refreshAuthor(id));
+            }
+            for (long id : changed.books) {
+                underReadLock(() -> books.refresh(id, this::readBook));
+            }
+        }
+        logFootprint();
+    }
+
+    public Optional<Book> getBook(long id) {
+        return Optional.ofNullable(books.get(id)).map(this::toBook);
+    }
+
+    public List<Book> getAllBooks() {
+        List<SnapshotBook> rows = books.values();
+        List<Book> result = new ArrayList<>(rows.size());
+        for (SnapshotBook row : rows) {
+            result.add(toBook(row));
+        }
+        return result;
+    }
+
+    public Optional<Author> getAuthor(long id) {
+        return Optional.ofNullable(authors.get(id)).map(name -> new Author(id, name, new ArrayList<>()));
+    }
+
+    public List<Author> getAllAuthors() {
+        LongSnapshotMap<String> currentAuthors = authors;
+        List<Author> result = new ArrayList<>(currentAuthors.size());
+        currentAuthors.forEach((id, name) -> result.add(new Author(id, name, new ArrayList<>())));
+        return result;
+    }
+
+    /**
+     * Re-reads the book once the current transaction commits. Applying the
+     * committed row rather than the caller's copy keeps concurrent writes to
+     * one book in commit order.
+     */
+    public void bookChanged(long id) {
+        afterCommit(() -> {
+            books.refresh(id, this::readBook);
+            ChangedIds changed = changedDuringReload;
+            if (changed != null) {
+                changed.books.add(id);
+            }
+        });
+    }
+
+    /**
+     * Re-reads the author once the current transaction commits. Authors
+     * cascade to their books, so when the author is gone those rows are
+     * dropped as well.
+     */
+    public void authorChanged(long id) {
+        afterCommit(() -> {
+            refreshAuthor(id);
+            ChangedIds changed = changedDuringReload;
+            if (changed != null) {
+                changed.authors.add(id);
+            }
+        });
+    }
+
+    /**
+     * Rebuilds the snapshot once the current transaction commits, for bulk
+     * writes that bypass the services.
+     */
+    public void catalogReplaced() {
+        if (enabled) {
+            runAfterCommit(this::reload);
+        }
+    }
+
+    private void refreshAuthor(long id) {
+        authors.refresh(id, this::readAuthorName);
+        if (authors.get(id) == null) {
+            books.removeIf(row -> row.authorId == id);
+        }
+    }
+
+    /**
+     * Publishes the reloaded maps, unless they are {@code null} because the
+     * reload failed, and stops tracking changes.
+     */
+    private ChangedIds swap(LongSnapshotMap<String> newAuthors, LongSnapshotMap<SnapshotBook> newBooks) {
+        reloadLock.writeLock().lock();
+        try {
+            if (newAuthors != null) {
+                authors = newAuthors;
+                books = newBooks;
+            }
+            ChangedIds changed = changedDuringReload;
+            changedDuringReload = null;
+            return changed;
+        } finally {
+            reloadLock.writeLock().unlock();
+        }
+    }
+
+    private SnapshotBook readBook(long id) {
+        return readOnlyTransaction.execute(status -> bookRepository.findById(id)
+                .map(book -> new SnapshotBook(book.getId(), book.getTitle(), book.getIsbn(), book.getAuthor().getId()))
+                .orElse(null));
+    }
+
+    private String readAuthorName(long id) {
+        return readOnlyTransaction.execute(status -> authorRepository.findById(id)
+                .map(author -> author.getName().intern())
+                .orElse(null));
+    }
+
+    private Book toBook(SnapshotBook row) {
+        Author author = new Author(row.authorId, authors.get(row.authorId), new ArrayList<>());
+        return new Book(row.id, row.title, row.isbn, author);
+    }
+
+    private void afterCommit(Runnable update) {
+        if (enabled) {
+            runAfterCommit(() -> underReadLock(update));
+        }
+    }
+
+    private void underReadLock(Runnable update) {
+        reloadLock.readLock().lock();
+        try {
+            update.run();
+        } finally {
+            reloadLock.readLock().unlock();
+        }
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void logFootprint() {
+        LongSnapshotMap<SnapshotBook> currentBooks = books;
+        List<SnapshotBook> rows = currentBooks.values();
+        if (rows.isEmpty()) {
+            log.info("Catalog snapshot loaded: 0 books, {} authors", authors.size());
+            return;
+        }
+        long bytes = currentBooks.tableBytes();
+        for (SnapshotBook row : rows) {
+            bytes += row.estimatedBytes();
+        }
+        log.info("Catalog snapshot loaded: {} books, {} authors, ~{} heap bytes per book",
+                rows.size(), authors.size(), bytes / rows.size());
+    }
+
+    private static final class ChangedIds {
+        final Set<Long> books = ConcurrentHashMap.newKeySet();
+        final Set<Long> authors = ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Estimated size of a compact (Latin-1) string: the String object plus its
+     * byte array, each 8-byte aligned.
+     */
+    static long estimatedBytes(String value) {
+        return 24 + ((16L + value.length() + 7) & ~7L);
+    }
+}
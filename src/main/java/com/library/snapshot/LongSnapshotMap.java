@@ -0,0 +1,308 @@
+package com.library.snapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+/**
+ * Map from positive {@code long} keys to values, split into segments that are
+ * each an immutable open-addressing table. Reads dereference the current table
+ * of one segment and never lock; writes lock only that segment and publish a
+ * modified copy of its table.
+ */
+final class LongSnapshotMap<V> {
+
+    private static final int SEGMENT_BITS = 6;
+    private static final int SEGMENTS = 1 << SEGMENT_BITS;
+    private static final int MIN_CAPACITY = 8;
+
+    private final Segment<V>[] segments;
+
+    @SuppressWarnings("unchecked")
+    private LongSnapshotMap(List<Table<V>> tables) {
+        segments = new Segment[SEGMENTS];
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>(tables.get(i));
+        }
+    }
+
+    static <V> LongSnapshotMap<V> empty() {
+        return new Builder<V>().build();
+    }
+
+    V get(long key) {
+        long hash = hash(key);
+        return segmentFor(hash).table.get(key, hash);
+    }
+
+    /**
+     * Replaces the entry with the value {@code loader} returns, or removes it
+     * when that is {@code null}. The loader runs without holding the segment
+     * lock. Concurrent refreshes of one key are numbered when they start, and a
+     * result is dropped once a later-started one has been applied, so the
+     * entry never goes back to an older load.
+     */
+    void refresh(long key, LongFunction<V> loader) {
+        long hash = hash(key);
+        Segment<V> segment = segmentFor(hash);
+        Refresh refresh;
+        long ticket;
+        synchronized (segment) {
+            refresh = segment.refreshes.computeIfAbsent(key, k -> new Refresh());
+            ticket = ++refresh.started;
+            refresh.running++;
+        }
+        V value = null;
+        boolean loaded = false;
+        try {
+            value = loader.apply(key);
+            loaded = true;
+        } finally {
+            synchronized (segment) {
+                if (loaded && ticket > refresh.applied) {
+                    refresh.applied = ticket;
+                    segment.table = value == null
+                            ? segment.table.without(existing -> false, key)
+                            : segment.table.with(key, hash, value);
+                }
+                if (--refresh.running == 0) {
+                    segment.refreshes.remove(key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes every entry whose value matches. Only segments that contain a
+     * match are copied.
+     */
+    void removeIf(Predicate<V> filter) {
+        for (Segment<V> segment : segments) {
+            if (!segment.table.anyMatch(filter)) {
+                continue;
+            }
+            synchronized (segment) {
+                segment.table = segment.table.without(filter, 0);
+            }
+        }
+    }
+
+    List<V> values() {
+        List<V> values = new ArrayList<>(size());
+        forEach((key, value) -> values.add(value));
+        return values;
+    }
+
+    void forEach(EntryConsumer<V> consumer) {
+        for (Segment<V> segment : segments) {
+            segment.table.forEach(consumer);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.table.size;
+        }
+        return size;
+    }
+
+    /**
+     * Shallow size of the key and value arrays, assuming compressed oops.
+     */
+    long tableBytes() {
+        long bytes = 0;
+        for (Segment<V> segment : segments) {
+            bytes += 2 * 16L + segment.table.keys.length * (8L + 4L);
+        }
+        return bytes;
+    }
+
+    private Segment<V> segmentFor(long hash) {
+        return segments[(int) (hash >>> (64 - SEGMENT_BITS))];
+    }
+
+    private static long hash(long key) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Snapshot keys must be positive: " + key);
+        }
+        return key * 0x9E3779B97F4A7C15L;
+    }
+
+    private static int capacityFor(int size) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < size * 2) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    @FunctionalInterface
+    interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+    /**
+     * Collects entries without copy-on-write so that a full load stays linear.
+     */
+    static final class Builder<V> {
+        private final List<List<Object>> pending = new ArrayList<>(SEGMENTS);
+
+        Builder() {
+            for (int i = 0; i < SEGMENTS; i++) {
+                pending.add(new ArrayList<>());
+            }
+        }
+
+        Builder<V> put(long key, V value) {
+            List<Object> entries = pending.get((int) (hash(key) >>> (64 - SEGMENT_BITS)));
+            entries.add(key);
+            entries.add(value);
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        LongSnapshotMap<V> build() {
+            List<Table<V>> tables = new ArrayList<>(SEGMENTS);
+            for (List<Object> entries : pending) {
+                Table<V> table = new Table<>(capacityFor(entries.size() / 2));
+                for (int i = 0; i < entries.size(); i += 2) {
+                    long key = (Long) entries.get(i);
+                    table.insert(key, hash(key), (V) entries.get(i + 1));
+                }
+                tables.add(table);
+            }
+            return new LongSnapshotMap<>(tables);
+        }
+    }
+
+    private static final class Segment<V> {
+        volatile Table<V> table;
+        /**
+         * Keys with a refresh in flight; guarded by the segment monitor.
+         */
+        final Map<Long, Refresh> refreshes = new HashMap<>();
+
+        Segment(Table<V> table) {
+            this.table = table;
+        }
+    }
+
+    private static final class Refresh {
+        long started;
+        long applied;
+        int running;
+    }
+
+    /**
+     * Linear-probing table; key 0 marks an empty slot. Instances are only
+     * mutated before they are published.
+     */
+    private static final class Table<V> {
+        final long[] keys;
+        final Object[] values;
+        int size;
+
+        Table(int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+        }
+
+        private Table(Table<V> source) {
+            keys = source.keys.clone();
+            values = source.values.clone();
+            size = source.size;
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(long key, long hash) {
+            int mask = keys.length - 1;
+            for (int i = slot(hash, mask); keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return (V) values[i];
+                }
+            }
+            return null;
+        }
+
+        Table<V> with(long key, long hash, V value) {
+            Table<V> copy = (size + 1) * 2 > keys.length ? resized(capacityFor(size + 1)) : new Table<>(this);
+            copy.insert(key, hash, value);
+            return copy;
+        }
+
+        @SuppressWarnings("unchecked")
+        boolean anyMatch(Predicate<V> filter) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0 && filter.test((V) values[i])) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Copies the table without {@code key} and the values matching
+         * {@code filter}, or returns this table when nothing is removed.
+         */
+        @SuppressWarnings("unchecked")
+        Table<V> without(Predicate<V> filter, long key) {
+            int removed = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0 && (keys[i] == key || filter.test((V) values[i]))) {
+                    removed++;
+                }
+            }
+            if (removed == 0) {
+                return this;
+            }
+            Table<V> copy = new Table<>(capacityFor(size - removed));
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0 && keys[i] != key && !filter.test((V) values[i])) {
+                    copy.insert(keys[i], hash(keys[i]), (V) values[i]);
+                }
+            }
+            return copy;
+        }
+
+        @SuppressWarnings("unchecked")
+        void forEach(EntryConsumer<V> consumer) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) {
+                    consumer.accept(keys[i], (V) values[i]);
+                }
+            }
+        }
+
+        void insert(long key, long hash, V value) {
+            int mask = keys.length - 1;
+            int i = slot(hash, mask);
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                keys[i] = key;
+                size++;
+            }
+            values[i] = value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Table<V> resized(int capacity) {
+            Table<V> copy = new Table<>(capacity);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) {
+                    copy.insert(keys[i], hash(keys[i]), (V) values[i]);
+                }
+            }
+            return copy;
+        }
+
+        private static int slot(long hash, int mask) {
+            return (int) (hash >>> 32) & mask;
+        }
+    }
+}
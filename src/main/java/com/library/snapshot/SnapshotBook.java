@@ -0,0 +1,28 @@
+package com.library.snapshot;
+
+/**
+ * Immutable book row held by {@link CatalogSnapshot}. The author is kept as an
+ * id so each name is stored once, in the author map.
+ */
+final class SnapshotBook {
+    /**
+     * Object header plus two longs and two compressed references, aligned.
+     */
+    private static final long SHALLOW_BYTES = 40;
+
+    final long id;
+    final String title;
+    final String isbn;
+    final long authorId;
+
+    SnapshotBook(long id, String title, String isbn, long authorId) {
+        this.id = id;
+        this.title = title;
+        this.isbn = isbn;
+        this.authorId = authorId;
+    }
+
+    long estimatedBytes() {
+        return SHALLOW_BYTES + CatalogSnapshot.estimatedBytes(title) + CatalogSnapshot.estimatedBytes(isbn);
+    }
+}
@@ -46,6 +46,16 @@ public class AuthorControllerTest {
                 .post("/api/v1/authors");
     }
 
+    private Response postAuthor(AuthorDto authorDto, String idempotencyKey) {
+        return given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .header("Idempotency-Key", idempotencyKey)
+                .body(authorDto)
+                .when()
+                .post("/api/v1/authors");
+    }
+
     private Response getAuthorById(Long id) {
         return given()
                 .port(port)
@@ -60,6 +70,14 @@ public class AuthorControllerTest {
                 .get("/api/v1/authors");
     }
 
+    private Response getAllAuthors(String fields) {
+        return given()
+                .port(port)
+                .queryParam("fields", fields)
+                .when()
+                .get("/api/v1/authors");
+    }
+
     private Response updateAuthor(AuthorDto authorDto) {
         return given()
                 .port(port)
@@ -91,6 +109,23 @@ public class AuthorControllerTest {
         assertThat(response.body().jsonPath().getString("name")).isEqualTo(authorDto.getName());
     }
 
+    @Test
+    @DisplayName("Create author retried with same idempotency key should create one author")
+    public void createAuthor_RetriedWithSameIdempotencyKey_ShouldCreateOneAuthor() {
+        // given
+        AuthorDto authorDto = createAuthorDto("John Doe");
+
+        // when
+        Response first = postAuthor(authorDto, "author-key-1");
+        Response retry = postAuthor(authorDto, "author-key-1");
+
+        // then
+        assertThat(retry.statusCode()).isEqualTo(HttpStatus.CREATED.value());
+        assertThat(retry.header("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(retry.body().jsonPath().getString("id")).isEqualTo(first.body().jsonPath().getString("id"));
+        assertThat(authorRepository.count()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("Get author by id should return author with given id")
     public void getAuthorById_ShouldReturnAuthorWithGivenId() {
@@ -125,6 +160,32 @@ public class AuthorControllerTest {
 
     }
 
+    @Test
+    @DisplayName("Get all authors with fields should return only requested fields")
+    public void getAllAuthors_WithFields_ShouldReturnOnlyRequestedFields() {
+        // given
+        Author author = new Author(null, "John Doe", new ArrayList<>());
+        authorRepository.save(author);
+
+        // when
+        Response response = getAllAuthors("name");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.body().jsonPath().getString("[0].name")).isEqualTo(author.getName());
+        assertThat(response.body().jsonPath().getMap("[0]")).containsOnlyKeys("name");
+    }
+
+    @Test
+    @DisplayName("Get all authors with unknown field should return bad request")
+    public void getAllAuthors_WithUnknownField_ShouldReturnBadRequest() {
+        // when
+        Response response = getAllAuthors("id,books");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
     @Test
     @DisplayName("Update author should return updated author")
     public void updateAuthor_ShouldReturnUpdatedAuthor() {
@@ -60,6 +60,16 @@ public class BookControllerTest {
                 .post("/api/v1/books");
     }
 
+    private Response postBook(BookDto bookDto, String idempotencyKey) {
+        return given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .header("Idempotency-Key", idempotencyKey)
+                .body(bookDto)
+                .when()
+                .post("/api/v1/books");
+    }
+
     private Response getBookById(Long id) {
         return given()
                 .port(port)
@@ -74,6 +84,14 @@ public class BookControllerTest {
                 .get("/api/v1/books");
     }
 
+    private Response getAllBooks(String fields) {
+        return given()
+                .port(port)
+                .queryParam("fields", fields)
+                .when()
+                .get("/api/v1/books");
+    }
+
     private Response updateBook(BookDto bookDto) {
         return given()
                 .port(port)
@@ -109,6 +127,115 @@ public class BookControllerTest {
         assertThat(response.body().jsonPath().getObject("author", AuthorDto.class)).isEqualTo(bookDto.getAuthor());
     }
 
+    @Test
+    @DisplayName("Create book retried with same idempotency key should create one book")
+    public void createBook_RetriedWithSameIdempotencyKey_ShouldCreateOneBook() {
+        // given
+        Author author = createAuthor("John Doe");
+        authorRepository.save(author);
+        BookDto bookDto = createBookDto("Test Book", "1234567890", new AuthorDto(author.getId(), author.getName()));
+
+        // when
+        Response first = postBook(bookDto, "book-key-1");
+        Response retry = postBook(bookDto, "book-key-1");
+
+        // then
+        assertThat(retry.statusCode()).isEqualTo(HttpStatus.CREATED.value());
+        assertThat(retry.header("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(retry.body().jsonPath().getString("id")).isEqualTo(first.body().jsonPath().getString("id"));
+        assertThat(bookRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Create book with reused idempotency key and different body should be rejected")
+    public void createBook_ReusedIdempotencyKeyWithDifferentBody_ShouldBeRejected() {
+        // given
+        Author author = createAuthor("John Doe");
+        authorRepository.save(author);
+        AuthorDto authorDto = new AuthorDto(author.getId(), author.getName());
+        postBook(createBookDto("Test Book", "1234567890", authorDto), "book-key-2");
+
+        // when
+        Response response = postBook(createBookDto("Other Book", "0987654321", authorDto), "book-key-2");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY.value());
+        assertThat(bookRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Create book without title should return bad request")
+    public void createBook_WithoutTitle_ShouldReturnBadRequest() {
+        // given
+        Author author = createAuthor("John Doe");
+        authorRepository.save(author);
+        BookDto bookDto = createBookDto(null, "1234567890", new AuthorDto(author.getId(), author.getName()));
+
+        // when
+        Response response = postBook(bookDto);
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(response.body().jsonPath().getString("message")).startsWith("title:");
+        assertThat(bookRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Create book with author lacking an id should return bad request, an id alone is enough")
+    public void createBook_WithAuthorWithoutId_ShouldReturnBadRequest() {
+        // given
+        Author author = createAuthor("John Doe");
+        authorRepository.save(author);
+        BookDto withoutAuthorId = createBookDto("Test Book", "1234567890", new AuthorDto(null, author.getName()));
+        BookDto withAuthorIdOnly = createBookDto("Test Book", "1234567890", new AuthorDto(author.getId(), null));
+
+        // when
+        Response rejected = postBook(withoutAuthorId);
+        Response accepted = postBook(withAuthorIdOnly);
+
+        // then
+        assertThat(rejected.statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(rejected.body().jsonPath().getString("message")).startsWith("author.id:");
+        assertThat(accepted.statusCode()).isEqualTo(HttpStatus.CREATED.value());
+        assertThat(bookRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Create book with unknown author should return not found")
+    public void createBook_WithUnknownAuthor_ShouldReturnNotFound() {
+        // given
+        BookDto bookDto = createBookDto("Test Book", "1234567890", new AuthorDto(999999999L, null));
+
+        // when
+        Response response = postBook(bookDto);
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.NOT_FOUND.value());
+        assertThat(response.body().jsonPath().getString("message")).isEqualTo("Author not found");
+        assertThat(bookRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Update book with unknown author should return not found and keep the book")
+    public void updateBook_WithUnknownAuthor_ShouldReturnNotFound() {
+        // given
+        Author author = createAuthor("John Doe");
+        authorRepository.save(author);
+        Book book = createBook("Test Book", "1234567890", author);
+        bookRepository.save(book);
+        BookDto bookDto = createBookDto("Updated Book", "0987654321", new AuthorDto(999999999L, null));
+        bookDto.setId(book.getId());
+
+        // when
+        Response response = updateBook(bookDto);
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.NOT_FOUND.value());
+        assertThat(response.body().jsonPath().getString("message")).isEqualTo("Author not found");
+        assertThat(bookRepository.findById(book.getId()))
+                .hasValueSatisfying(unchanged -> assertThat(unchanged.getTitle()).isEqualTo("Test Book"));
+    }
+
     @Test
     @DisplayName("Get book by id should return book with given id")
     public void getBookById_ShouldReturnBookWithGivenId() {
@@ -152,6 +279,37 @@ public class BookControllerTest {
 
     }
 
+    @Test
+    @DisplayName("Get all books with fields should return only requested fields")
+    public void getAllBooks_WithFields_ShouldReturnOnlyRequestedFields() {
+        // given
+        Author author = createAuthor("John Doe");
+        authorRepository.save(author);
+        Book book = createBook("Test Book", "1234567890", author);
+        bookRepository.save(book);
+
+        // when
+        Response response = getAllBooks("id,title,author.name");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.body().jsonPath().getString("[0].id")).isEqualTo(book.getId().toString());
+        assertThat(response.body().jsonPath().getString("[0].title")).isEqualTo(book.getTitle());
+        assertThat(response.body().jsonPath().getString("[0].author.name")).isEqualTo(author.getName());
+        assertThat(response.body().jsonPath().getMap("[0]")).containsOnlyKeys("id", "title", "author");
+        assertThat(response.body().jsonPath().getMap("[0].author")).containsOnlyKeys("name");
+    }
+
+    @Test
+    @DisplayName("Get all books with unknown field should return bad request")
+    public void getAllBooks_WithUnknownField_ShouldReturnBadRequest() {
+        // when
+        Response response = getAllBooks("id,publisher");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+    }
+
     @Test
     @DisplayName("Update book should return updated book")
     public void updateBook_ShouldReturnUpdatedBook() {
@@ -0,0 +1,214 @@
+package com.library;
+
+import com.library.entity.Author;
+import com.library.entity.Book;
+import com.library.repository.AuthorRepository;
+import com.library.repository.BookRepository;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static io.restassured.RestAssured.given;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CatalogControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @BeforeEach
+    public void setUp() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    private Book saveBook(String title, String isbn, String authorName) {
+        Author author = authorRepository.save(new Author(null, authorName, new ArrayList<>()));
+        return bookRepository.save(new Book(null, title, isbn, author));
+    }
+
+    private Response exportCatalog(String format) {
+        return given()
+                .port(port)
+                .queryParam("format", format)
+                .when()
+                .get("/api/v1/catalog/export");
+    }
+
+    private Response importCatalog(String format, byte[] gzipBody) {
+        return given()
+                .port(port)
+                .queryParam("format", format)
+                .contentType("application/gzip")
+                .body(gzipBody)
+                .when()
+                .post("/api/v1/catalog/import");
+    }
+
+    private String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), UTF_8);
+        }
+    }
+
+    private byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    @DisplayName("Export as CSV should write header and one quoted row per book")
+    public void exportCatalog_Csv_ShouldWriteOneRowPerBook() throws IOException {
+        // given
+        Book book = saveBook("Hello, \"World\"", "1234567890", "John Doe");
+
+        // when
+        Response response = exportCatalog("CSV");
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(gunzip(response.asByteArray())).isEqualTo("book_id,title,isbn,author_id,author_name\n" +
+                book.getId() + ",\"Hello, \"\"World\"\"\",1234567890," + book.getAuthor().getId() + ",John Doe\n");
+    }
+
+    @Test
+    @DisplayName("Import of an NDJSON export should restore all books")
+    public void importCatalog_Ndjson_ShouldRestoreExportedBooks() {
+        // given
+        saveBook("Test Book 1", "1234567890", "John Doe");
+        saveBook("Test Book 2", "0987654321", "Jane Doe");
+        byte[] export = exportCatalog("NDJSON").asByteArray();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+
+        // when
+        Response response = importCatalog("NDJSON", export);
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.body().jsonPath().getLong("rows")).isEqualTo(2);
+        assertThat(bookRepository.count()).isEqualTo(2);
+        assertThat(authorRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Import of a CSV export should restore all books, including quoted fields")
+    public void importCatalog_Csv_ShouldRestoreExportedBooks() {
+        // given
+        Book book = saveBook("Hello, \"World\"", "1234567890", "John Doe");
+        saveBook("Test Book 2", "0987654321", "Jane Doe");
+        byte[] export = exportCatalog("CSV").asByteArray();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+
+        // when
+        Response response = importCatalog("CSV", export);
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.body().jsonPath().getLong("rows")).isEqualTo(2);
+        assertThat(bookRepository.count()).isEqualTo(2);
+        assertThat(bookRepository.findById(book.getId()))
+                .hasValueSatisfying(restored -> assertThat(restored.getTitle()).isEqualTo("Hello, \"World\""));
+        assertThat(authorRepository.findById(book.getAuthor().getId()))
+                .hasValueSatisfying(restored -> assertThat(restored.getName()).isEqualTo("John Doe"));
+    }
+
+    @Test
+    @DisplayName("Import of a CSV with CRLF line endings and trailing blank lines should skip the blank lines")
+    public void importCatalog_CsvWithTrailingBlankLines_ShouldSkipThem() throws IOException {
+        // given
+        byte[] body = gzip("book_id,title,isbn,author_id,author_name\r\n" +
+                "1,Test Book 1,1234567890,1,John Doe\r\n" +
+                "\r\n");
+
+        // when
+        Response response = importCatalog("CSV", body);
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(response.body().jsonPath().getLong("rows")).isEqualTo(1);
+        assertThat(bookRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Import of NDJSON repeating a book id should keep the last row")
+    public void importCatalog_RepeatedBookId_ShouldKeepLastRow() throws IOException {
+        // given
+        byte[] body = gzip("{\"bookId\":1,\"title\":\"First\",\"isbn\":\"1234567890\",\"authorId\":1,\"authorName\":\"John Doe\"}\n" +
+                "{\"bookId\":1,\"title\":\"Second\",\"isbn\":\"1234567890\",\"authorId\":1,\"authorName\":\"John Doe\"}\n");
+
+        // when
+        Response response = importCatalog("NDJSON", body);
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(bookRepository.count()).isEqualTo(1);
+        assertThat(bookRepository.findById(1L))
+                .hasValueSatisfying(book -> assertThat(book.getTitle()).isEqualTo("Second"));
+    }
+
+    @Test
+    @DisplayName("Import of a body that is not gzip should return bad request")
+    public void importCatalog_NotGzip_ShouldReturnBadRequest() {
+        // when
+        Response response = importCatalog("NDJSON", "{\"bookId\":1}".getBytes(UTF_8));
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(bookRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Import of a CSV with a non-numeric id should return bad request and import nothing")
+    public void importCatalog_MalformedCsv_ShouldReturnBadRequest() throws IOException {
+        // given
+        byte[] body = gzip("book_id,title,isbn,author_id,author_name\n" +
+                "1,Test Book 1,1234567890,1,John Doe\n" +
+                "two,Test Book 2,0987654321,1,John Doe\n");
+
+        // when
+        Response response = importCatalog("CSV", body);
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(response.body().jsonPath().getString("message")).contains("row 2");
+        assertThat(bookRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Import of NDJSON with broken JSON or missing fields should return bad request")
+    public void importCatalog_MalformedNdjson_ShouldReturnBadRequest() throws IOException {
+        // when
+        Response brokenJson = importCatalog("NDJSON", gzip("{\"bookId\":1,\"title\":\n"));
+        Response missingFields = importCatalog("NDJSON", gzip("{\"bookId\":1,\"title\":\"Test Book\"}\n"));
+
+        // then
+        assertThat(brokenJson.statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(missingFields.statusCode()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(bookRepository.count()).isZero();
+    }
+}
@@ -0,0 +1,131 @@
+package com.library.config;
+
+import com.library.entity.Author;
+import com.library.entity.Book;
+import com.library.repository.AuthorRepository;
+import com.library.repository.BookRepository;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.tracing.sampling.probability=1.0",
+        "library.tracing.exporter=none"})
+public class TracingConfigurationTest {
+
+    private static final AttributeKey<String> JDBC_QUERY = AttributeKey.stringKey("jdbc.query[0]");
+
+    @TestConfiguration
+    static class InMemoryExporterConfiguration {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @BeforeEach
+    public void setUp() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        spanExporter.reset();
+    }
+
+    @Test
+    @DisplayName("Get book by id should trace controller, facade, service, repository and SQL as one chain")
+    public void getBookById_ShouldTraceEveryLayer() throws InterruptedException {
+        // given
+        Author author = authorRepository.save(new Author(null, "John Doe", new ArrayList<>()));
+        Book book = bookRepository.save(new Book(null, "Test Book", "1234567890", author));
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        spanExporter.reset();
+
+        // when
+        Response response = given()
+                .port(port)
+                .when()
+                .get("/api/v1/books/" + book.getId());
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        List<SpanData> spans = finishedSpansUntil("http get /api/v1/books/{id}");
+        Map<String, SpanData> byName = spans.stream()
+                .collect(Collectors.toMap(SpanData::getName, Function.identity(), (first, second) -> first));
+        SpanData server = byName.get("http get /api/v1/books/{id}");
+        SpanData controller = byName.get("book-controller#get-book-by-id");
+        SpanData facade = byName.get("book-facade#get-book-by-id");
+        SpanData service = byName.get("book-service-impl#get-book-by-id");
+        SpanData repository = byName.get("book-repository#find-by-id");
+        assertThat(Arrays.asList(server, controller, facade, service, repository)).as("spans: %s", byName.keySet()).doesNotContainNull();
+        assertThat(controller.getParentSpanId()).isEqualTo(server.getSpanId());
+        assertThat(facade.getParentSpanId()).isEqualTo(controller.getSpanId());
+        assertThat(service.getParentSpanId()).isEqualTo(facade.getSpanId());
+        assertThat(repository.getParentSpanId()).isEqualTo(service.getSpanId());
+        assertThat(sqlUnder(spans, repository)).anySatisfy(sql -> assertThat(sql).contains("from books"));
+        // the lazy author is loaded while the facade maps the book
+        assertThat(sqlUnder(spans, facade)).anySatisfy(sql -> assertThat(sql).contains("from authors"));
+    }
+
+    /**
+     * The server span ends after the response has been written, so the client
+     * can get ahead of it.
+     */
+    private List<SpanData> finishedSpansUntil(String name) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (true) {
+            tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+            List<SpanData> spans = spanExporter.getFinishedSpanItems();
+            if (spans.stream().anyMatch(span -> span.getName().equals(name)) || System.nanoTime() > deadline) {
+                return spans;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private static List<String> sqlUnder(List<SpanData> spans, SpanData parent) {
+        return spans.stream()
+                .filter(span -> span.getParentSpanId().equals(parent.getSpanId()))
+                .map(span -> span.getAttributes().get(JDBC_QUERY))
+                .filter(sql -> sql != null)
+                .toList();
+    }
+}
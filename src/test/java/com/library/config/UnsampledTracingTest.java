@@ -0,0 +1,92 @@
+package com.library.config;
+
+import com.library.entity.Author;
+import com.library.entity.Book;
+import com.library.repository.AuthorRepository;
+import com.library.repository.BookRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@AutoConfigureObservability
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "management.tracing.sampling.probability=0.0",
+        "library.tracing.exporter=none"})
+public class UnsampledTracingTest {
+
+    @TestConfiguration
+    static class InMemoryExporterConfiguration {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @Test
+    @DisplayName("Unsampled request should record neither layer spans nor layer timers")
+    public void getBookById_Unsampled_ShouldSkipLayerObservations() throws InterruptedException {
+        // given
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        Author author = authorRepository.save(new Author(null, "John Doe", new ArrayList<>()));
+        Book book = bookRepository.save(new Book(null, "Test Book", "1234567890", author));
+        meterRegistry.clear();
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+        spanExporter.reset();
+
+        // when
+        Response response = given()
+                .port(port)
+                .when()
+                .get("/api/v1/books/" + book.getId());
+        // the server observation stops after the response has been written
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (meterRegistry.find("http.server.requests").timer() == null && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+
+        // then
+        assertThat(response.statusCode()).isEqualTo(HttpStatus.OK.value());
+        assertThat(meterRegistry.find("http.server.requests").timer()).isNotNull();
+        assertThat(spanExporter.getFinishedSpanItems()).isEmpty();
+        assertThat(meterRegistry.find("library.controller").timer()).isNull();
+        assertThat(meterRegistry.find("library.service").timer()).isNull();
+        assertThat(meterRegistry.find("library.repository").timer()).isNull();
+        assertThat(meterRegistry.find("jdbc.query").timer()).isNull();
+    }
+}
@@ -0,0 +1,72 @@
+package com.library.idempotency;
+
+import com.library.dto.AuthorDto;
+import com.library.repository.AuthorRepository;
+import com.library.repository.BookRepository;
+import com.library.repository.IdempotencyRecordRepository;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "library.idempotency.store=database")
+public class DatabaseIdempotencyStoreTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @BeforeEach
+    public void setUp() {
+        idempotencyRecordRepository.deleteAll();
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+    }
+
+    private Response postAuthor(AuthorDto authorDto, String idempotencyKey) {
+        return given()
+                .port(port)
+                .contentType(ContentType.JSON)
+                .header(IdempotencyService.HEADER, idempotencyKey)
+                .body(authorDto)
+                .when()
+                .post("/api/v1/authors");
+    }
+
+    @Test
+    @DisplayName("Retry with a maximum length key should be replayed from the database")
+    public void execute_MaximumLengthKey_ShouldReplayFromDatabase() {
+        // given
+        String key = "k".repeat(IdempotencyService.MAX_KEY_LENGTH);
+        AuthorDto authorDto = new AuthorDto(null, "John Doe");
+        Response first = postAuthor(authorDto, key);
+
+        // when
+        Response retry = postAuthor(authorDto, key);
+
+        // then
+        assertThat(first.statusCode()).isEqualTo(HttpStatus.CREATED.value());
+        assertThat(retry.statusCode()).isEqualTo(HttpStatus.CREATED.value());
+        assertThat(retry.header(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.body().jsonPath().getLong("id")).isEqualTo(first.body().jsonPath().getLong("id"));
+        assertThat(authorRepository.count()).isEqualTo(1);
+        assertThat(idempotencyRecordRepository.existsById("authors:" + key)).isTrue();
+    }
+}
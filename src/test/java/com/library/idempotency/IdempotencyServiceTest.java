@@ -0,0 +1,124 @@
+package com.library.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.library.dto.AuthorDto;
+import com.library.exception.IdempotencyKeyReusedException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IdempotencyServiceTest {
+
+    private final IdempotencyService idempotencyService =
+            new IdempotencyService(new InMemoryIdempotencyStore(Duration.ofMinutes(1), 100), new ObjectMapper());
+
+    @Test
+    @DisplayName("Concurrent requests with same key should run the action once")
+    public void execute_ConcurrentSameKey_ShouldRunActionOnce() throws Exception {
+        // given
+        AuthorDto request = new AuthorDto(null, "John Doe");
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // when
+        CompletableFuture<ResponseEntity<AuthorDto>> first = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute("authors", "key", request, AuthorDto.class, () -> {
+                    executions.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return ResponseEntity.status(HttpStatus.CREATED).body(new AuthorDto(1L, "John Doe"));
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<ResponseEntity<AuthorDto>> second = CompletableFuture.supplyAsync(() ->
+                idempotencyService.execute("authors", "key", request, AuthorDto.class, () -> {
+                    executions.incrementAndGet();
+                    return ResponseEntity.status(HttpStatus.CREATED).body(new AuthorDto(2L, "John Doe"));
+                }));
+        release.countDown();
+
+        // then
+        assertThat(first.get(5, TimeUnit.SECONDS).getBody().getId()).isEqualTo(1L);
+        assertThat(second.get(5, TimeUnit.SECONDS).getBody().getId()).isEqualTo(1L);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Retry after completion should replay stored response")
+    public void execute_RetryAfterCompletion_ShouldReplayStoredResponse() {
+        // given
+        AuthorDto request = new AuthorDto(null, "John Doe");
+        idempotencyService.execute("authors", "key", request, AuthorDto.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(new AuthorDto(1L, "John Doe")));
+
+        // when
+        ResponseEntity<AuthorDto> retry = idempotencyService.execute("authors", "key", request, AuthorDto.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(new AuthorDto(2L, "John Doe")));
+
+        // then
+        assertThat(retry.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getBody()).isEqualTo(new AuthorDto(1L, "John Doe"));
+    }
+
+    @Test
+    @DisplayName("Reused key with a different body of equal hash code should be rejected")
+    public void execute_ReusedKeyWithCollidingHashCode_ShouldBeRejected() {
+        // given
+        AuthorDto request = new AuthorDto(null, "Aa");
+        AuthorDto otherRequest = new AuthorDto(null, "BB");
+        assertThat(otherRequest.hashCode()).isEqualTo(request.hashCode());
+        idempotencyService.execute("authors", "key", request, AuthorDto.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(new AuthorDto(1L, "Aa")));
+
+        // when / then
+        assertThatThrownBy(() -> idempotencyService.execute("authors", "key", otherRequest, AuthorDto.class,
+                () -> ResponseEntity.status(HttpStatus.CREATED).body(new AuthorDto(2L, "BB"))))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    @Test
+    @DisplayName("Failure to store the response should still return the created response")
+    public void execute_StoreFails_ShouldReturnCreatedResponse() {
+        // given
+        IdempotencyStore failingStore = new IdempotencyStore() {
+            @Override
+            public Optional<IdempotentResponse> find(String key) {
+                return Optional.empty();
+            }
+
+            @Override
+            public void save(String key, IdempotentResponse response) {
+                throw new IllegalStateException("duplicate key");
+            }
+        };
+        IdempotencyService service = new IdempotencyService(failingStore, new ObjectMapper());
+
+        // when
+        ResponseEntity<AuthorDto> response = service.execute("authors", "key", new AuthorDto(null, "John Doe"),
+                AuthorDto.class, () -> ResponseEntity.status(HttpStatus.CREATED).body(new AuthorDto(1L, "John Doe")));
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(response.getBody()).isEqualTo(new AuthorDto(1L, "John Doe"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
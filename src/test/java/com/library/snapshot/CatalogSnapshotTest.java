@@ -0,0 +1,169 @@
+package com.library.snapshot;
+
+import com.library.entity.Author;
+import com.library.entity.Book;
+import com.library.exception.ResourceNotFoundException;
+import com.library.repository.AuthorRepository;
+import com.library.repository.BookRepository;
+import com.library.service.AuthorService;
+import com.library.service.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "library.snapshot.enabled=true")
+public class CatalogSnapshotTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private AuthorService authorService;
+
+    @Autowired
+    private CatalogSnapshot catalogSnapshot;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private ScheduledTaskHolder scheduledTaskHolder;
+
+    @Autowired
+    private AuthorRepository authorRepository;
+
+    @BeforeEach
+    public void setUp() {
+        bookRepository.deleteAll();
+        authorRepository.deleteAll();
+        catalogSnapshot.reload();
+    }
+
+    private Author createAuthor(String name) {
+        return authorService.createAuthor(new Author(null, name, new ArrayList<>()));
+    }
+
+    private Book createBook(String title, Author author) {
+        return bookService.createBook(new Book(null, title, "1234567890", author));
+    }
+
+    @Test
+    @DisplayName("Reads should see creates and updates made through the services")
+    public void reads_ShouldSeeOwnWrites() {
+        // given
+        Author author = createAuthor("John Doe");
+        Book book = createBook("Test Book", author);
+
+        // when
+        bookService.updateBook(book.getId(), new Book(null, "Updated Book", "0987654321", author));
+        authorService.updateAuthor(author.getId(), new Author(null, "Jane Doe", new ArrayList<>()));
+
+        // then
+        Book snapshotBook = bookService.getBookById(book.getId());
+        assertThat(snapshotBook.getTitle()).isEqualTo("Updated Book");
+        assertThat(snapshotBook.getIsbn()).isEqualTo("0987654321");
+        assertThat(snapshotBook.getAuthor().getName()).isEqualTo("Jane Doe");
+        assertThat(authorService.getAuthorById(author.getId()).getName()).isEqualTo("Jane Doe");
+    }
+
+    @Test
+    @DisplayName("Deleting an author should drop the author and their books")
+    public void deleteAuthor_ShouldDropTheirBooks() {
+        // given
+        Author author = createAuthor("John Doe");
+        Book book = createBook("Test Book", author);
+        Author otherAuthor = createAuthor("Jane Doe");
+        Book otherBook = createBook("Other Book", otherAuthor);
+
+        // when
+        authorService.deleteAuthor(author.getId());
+
+        // then
+        assertThatThrownBy(() -> authorService.getAuthorById(author.getId())).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> bookService.getBookById(book.getId())).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(bookService.getAllBooks()).extracting(Book::getId).containsExactly(otherBook.getId());
+    }
+
+    @Test
+    @DisplayName("A late change notification should not roll the snapshot back to an older row")
+    public void lateChangeNotification_ShouldKeepCommittedRow() {
+        // given
+        Author author = createAuthor("John Doe");
+        Book book = createBook("First Title", author);
+        Book newer = bookRepository.findById(book.getId()).orElseThrow();
+        newer.setTitle("Second Title");
+        bookRepository.save(newer);
+
+        // when
+        catalogSnapshot.bookChanged(book.getId());
+
+        // then
+        assertThat(bookService.getBookById(book.getId()).getTitle()).isEqualTo("Second Title");
+    }
+
+    @Test
+    @DisplayName("Concurrent updates of one book should leave the snapshot equal to the database")
+    public void concurrentUpdates_ShouldMatchDatabase() throws Exception {
+        // given
+        Author author = createAuthor("John Doe");
+        Book book = createBook("Test Book", author);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Callable<Book>> updates = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String title = "Title " + i;
+            updates.add(() -> bookService.updateBook(book.getId(), new Book(null, title, "1234567890", author)));
+        }
+
+        // when
+        try {
+            for (Future<Book> update : executor.invokeAll(updates)) {
+                update.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        String committedTitle = bookRepository.findById(book.getId()).orElseThrow().getTitle();
+        assertThat(bookService.getBookById(book.getId()).getTitle()).isEqualTo(committedTitle);
+    }
+
+    @Test
+    @DisplayName("Writes made on another instance should show up after a reload, which runs periodically")
+    public void otherInstanceWrites_ShouldShowUpAfterReload() {
+        // given
+        Author author = createAuthor("John Doe");
+        Book book = createBook("First Title", author);
+        Book changedElsewhere = bookRepository.findById(book.getId()).orElseThrow();
+        changedElsewhere.setTitle("Second Title");
+        bookRepository.save(changedElsewhere);
+
+        // when
+        catalogSnapshot.reload();
+
+        // then
+        assertThat(bookService.getBookById(book.getId()).getTitle()).isEqualTo("Second Title");
+        assertThat(scheduledTaskHolder.getScheduledTasks())
+                .map(ScheduledTask::getTask)
+                .filteredOn(task -> task.getRunnable().toString().equals(CatalogSnapshot.class.getName() + ".reload"))
+                .singleElement()
+                .isInstanceOfSatisfying(FixedDelayTask.class,
+                        task -> assertThat(task.getInterval()).isEqualTo(TimeUnit.MINUTES.toMillis(5)));
+    }
+}
@@ -0,0 +1,123 @@
+package com.library.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LongSnapshotMapTest {
+
+    @Test
+    @DisplayName("Built map should return every loaded value")
+    public void build_ShouldContainAllLoadedValues() {
+        // given
+        LongSnapshotMap.Builder<String> builder = new LongSnapshotMap.Builder<>();
+        for (long id = 1; id <= 10_000; id++) {
+            builder.put(id, "value-" + id);
+        }
+
+        // when
+        LongSnapshotMap<String> map = builder.build();
+
+        // then
+        assertThat(map.size()).isEqualTo(10_000);
+        assertThat(map.get(1)).isEqualTo("value-1");
+        assertThat(map.get(10_000)).isEqualTo("value-10000");
+        assertThat(map.get(10_001)).isNull();
+    }
+
+    @Test
+    @DisplayName("Refreshed values and removals should be visible to later reads")
+    public void refresh_ShouldBeVisibleToLaterReads() {
+        // given
+        LongSnapshotMap<String> map = LongSnapshotMap.empty();
+
+        // when
+        for (long id = 1; id <= 1_000; id++) {
+            map.refresh(id, key -> "value-" + key);
+        }
+        map.refresh(7, key -> "updated");
+        map.refresh(8, key -> null);
+
+        // then
+        assertThat(map.size()).isEqualTo(999);
+        assertThat(map.get(7)).isEqualTo("updated");
+        assertThat(map.get(8)).isNull();
+        assertThat(map.get(9)).isEqualTo("value-9");
+    }
+
+    @Test
+    @DisplayName("Remove if should drop only matching values")
+    public void removeIf_ShouldDropOnlyMatchingValues() {
+        // given
+        LongSnapshotMap.Builder<Long> builder = new LongSnapshotMap.Builder<>();
+        for (long id = 1; id <= 100; id++) {
+            builder.put(id, id % 2);
+        }
+        LongSnapshotMap<Long> map = builder.build();
+
+        // when
+        map.removeIf(parity -> parity == 0);
+        map.removeIf(parity -> parity == 2);
+
+        // then
+        assertThat(map.size()).isEqualTo(50);
+        assertThat(map.values()).containsOnly(1L);
+    }
+
+    @Test
+    @DisplayName("Refresh should store the loaded value or remove the key when nothing is loaded")
+    public void refresh_ShouldApplyLoadedValue() {
+        // given
+        LongSnapshotMap<String> map = new LongSnapshotMap.Builder<String>()
+                .put(1, "stale")
+                .put(2, "deleted")
+                .build();
+
+        // when
+        map.refresh(1, id -> "fresh-" + id);
+        map.refresh(2, id -> null);
+        map.refresh(3, id -> "created-" + id);
+
+        // then
+        assertThat(map.get(1)).isEqualTo("fresh-1");
+        assertThat(map.get(2)).isNull();
+        assertThat(map.get(3)).isEqualTo("created-3");
+        assertThat(map.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("A refresh that loads slowly should neither block nor overwrite a later refresh")
+    public void refresh_SlowEarlierLoad_ShouldNotOverwriteLaterLoad() throws Exception {
+        // given
+        LongSnapshotMap<String> map = LongSnapshotMap.empty();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> earlier = CompletableFuture.runAsync(() -> map.refresh(1, id -> {
+            loading.countDown();
+            await(release);
+            return "older";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        CompletableFuture.runAsync(() -> map.refresh(1, id -> "newer")).get(5, TimeUnit.SECONDS);
+        release.countDown();
+        earlier.get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(map.get(1)).isEqualTo("newer");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}